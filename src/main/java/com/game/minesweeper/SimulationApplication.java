@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper;
+
+import com.game.minesweeper.simulation.ShardResult;
+import com.game.minesweeper.simulation.SimulationCoordinator;
+import com.game.minesweeper.simulation.SimulationJob;
+import com.game.minesweeper.topology.TopologyType;
+
+import java.util.concurrent.TimeUnit;
+
+public class SimulationApplication {
+    private static final long SHARD_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 8) {
+            System.err.println("Usage: SimulationApplication <workers> <rows> <columns> <mines> <topology> <firstSeed> <games> <shardSize>");
+            System.exit(1);
+        }
+        SimulationJob job = SimulationJob.builder()
+                .rows(Integer.parseInt(args[1]))
+                .columns(Integer.parseInt(args[2]))
+                .numberOfMines(Integer.parseInt(args[3]))
+                .topologyType(TopologyType.valueOf(args[4]))
+                .firstSeed(Long.parseLong(args[5]))
+                .games(Long.parseLong(args[6]))
+                .shardSize(Long.parseLong(args[7]))
+                .build();
+        ShardResult result = new SimulationCoordinator(Integer.parseInt(args[0]), SHARD_TIMEOUT_MILLIS).run(job);
+        System.out.println(result);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.analysis;
+
+import com.game.minesweeper.dto.BoardDifficultyDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.topology.Topology;
+
+/**
+ * Computes the 3BV of a board (the minimum number of clicks needed to clear it) and related difficulty metrics.
+ * <p>
+ * Every opening (a connected group of squares without adjacent mines) costs one click, and so does every numbered
+ * square that no opening touches. Openings are found with a union-find over the squares without adjacent mines,
+ * so a whole board is analysed in a single linear pass without any flood fill.
+ * </p>
+ * <p>
+ * The union-find storage is kept between calls, so analysing many boards of similar size allocates nothing after
+ * the first one. An analyser is therefore not thread-safe; use one per thread for bulk analysis.
+ * </p>
+ */
+public class BoardAnalyzer {
+    private static final int NOT_EMPTY = -1;
+
+    private int[] parent = new int[0];
+    private final int[] rowBuffer = new int[Topology.MAX_NEIGHBOURS];
+    private final int[] columnBuffer = new int[Topology.MAX_NEIGHBOURS];
+
+    private int openings;
+    private int isolatedSquares;
+    private int safeSquares;
+
+    /**
+     * Returns the 3BV of the board without creating a result object.
+     */
+    public int computeThreeBV(Board board) {
+        analyzeSquares(board);
+        return openings + isolatedSquares;
+    }
+
+    public BoardDifficultyDTO analyze(Board board) {
+        analyzeSquares(board);
+        int squares = board.getRows() * board.getColumns();
+        return BoardDifficultyDTO.builder()
+                .threeBV(openings + isolatedSquares)
+                .openings(openings)
+                .isolatedSquares(isolatedSquares)
+                .safeSquares(safeSquares)
+                .mineDensity(squares == 0 ? 0 : (double) (squares - safeSquares) / squares)
+                .build();
+    }
+
+    private void analyzeSquares(Board board) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        Square[][] squares = board.getSquares();
+        if (parent.length < rows * columns) {
+            parent = new int[rows * columns];
+        }
+        openings = 0;
+        isolatedSquares = 0;
+        safeSquares = 0;
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                Square square = squares[i][j];
+                int index = i * columns + j;
+                parent[index] = !square.isMine() && square.getAdjacentMines() == 0 ? index : NOT_EMPTY;
+            }
+        }
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (squares[i][j].isMine()) {
+                    continue;
+                }
+                safeSquares++;
+                int index = i * columns + j;
+                int neighbours = board.getNeighbours(i, j, rowBuffer, columnBuffer);
+                if (parent[index] == NOT_EMPTY) {
+                    if (!touchesEmptySquare(columns, neighbours)) {
+                        isolatedSquares++;
+                    }
+                    continue;
+                }
+                openings++;
+                for (int k = 0; k < neighbours; k++) {
+                    int neighbour = rowBuffer[k] * columns + columnBuffer[k];
+                    if (neighbour < index && parent[neighbour] != NOT_EMPTY && union(index, neighbour)) {
+                        openings--;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean touchesEmptySquare(int columns, int neighbours) {
+        for (int k = 0; k < neighbours; k++) {
+            if (parent[rowBuffer[k] * columns + columnBuffer[k]] != NOT_EMPTY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Joins the groups of two empty squares, keeping the smaller index as the root.
+     *
+     * @return {@code true} if the squares were in different groups
+     */
+    private boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+        if (firstRoot < secondRoot) {
+            parent[secondRoot] = firstRoot;
+        } else {
+            parent[firstRoot] = secondRoot;
+        }
+        return true;
+    }
+
+    private int find(int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+}
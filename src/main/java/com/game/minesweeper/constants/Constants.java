@@ -21,11 +21,20 @@ public class Constants {
     public static final int COLUMN_INDEX = 1;
     public static final String BLANK_SPACE = " ";
     public static final String UNDERSCORE_SYMBOL = "_";
+    public static final String FLAG_SYMBOL = "F";
 
     public static final char CHAR_A = 'A';
     public static final char CHAR_Z = 'Z';
 
     public static final int MAX_GRID_SIZE = 9;
     public static final double MAX_MINE_TO_SQUARE_RATIO = 0.35;
+    public static final int PREGENERATED_BOARDS_PER_PRESET = 4;
     public static final String UPPERCASE_YES = "YES";
+    public static final String UPPERCASE_HINT = "HINT";
+    public static final String UPPERCASE_UNDO = "UNDO";
+    public static final String UPPERCASE_REDO = "REDO";
+    public static final long HINT_BUDGET_MILLIS = 5;
+
+    public static final String LEADERBOARD_FILE_NAME = "leaderboard.tsv";
+    public static final int LEADERBOARD_RESULTS_SHOWN = 5;
 }
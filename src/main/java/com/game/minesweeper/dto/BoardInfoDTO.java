@@ -16,6 +16,7 @@
 
 package com.game.minesweeper.dto;
 
+import com.game.minesweeper.topology.TopologyType;
 import lombok.*;
 
 @Getter
@@ -26,4 +27,13 @@ import lombok.*;
 public class BoardInfoDTO {
  int numberOfMines;
  int gridSize;
+ TopologyType topologyType;
+
+ public BoardInfoDTO(int numberOfMines, int gridSize) {
+  this(numberOfMines, gridSize, TopologyType.RECTANGULAR);
+ }
+
+ public TopologyType getTopologyType() {
+  return topologyType == null ? TopologyType.RECTANGULAR : topologyType;
+ }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.dto;
+
+import com.game.minesweeper.topology.TopologyType;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameResultDTO {
+ int rows;
+ int columns;
+ int numberOfMines;
+ TopologyType topologyType;
+ long seed;
+ boolean won;
+ long timeMillis;
+ int moves;
+ int threeBV;
+
+ /**
+  * The key results are ranked under: boards of the same size, mine count and topology compete with each other.
+  */
+ public String getDifficulty() {
+  return rows + "x" + columns + "/" + numberOfMines + "/" + topologyType;
+ }
+
+ public double getThreeBVPerSecond() {
+  return timeMillis == 0 ? 0 : threeBV * 1000.0 / timeMillis;
+ }
+}
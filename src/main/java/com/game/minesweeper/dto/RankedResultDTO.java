@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.dto;
+
+import com.game.minesweeper.topology.TopologyType;
+import lombok.Value;
+
+/**
+ * A won game as it is ranked on the leaderboard. Unlike {@link GameResultDTO} it cannot be changed, so one
+ * instance can be shared by the ranking and every reader of it.
+ */
+@Value
+public class RankedResultDTO {
+ int rows;
+ int columns;
+ int numberOfMines;
+ TopologyType topologyType;
+ long seed;
+ long timeMillis;
+ int moves;
+ int threeBV;
+ String difficulty;
+
+ public static RankedResultDTO of(GameResultDTO result) {
+  return new RankedResultDTO(result.getRows(), result.getColumns(), result.getNumberOfMines(),
+          result.getTopologyType(), result.getSeed(), result.getTimeMillis(), result.getMoves(), result.getThreeBV(),
+          result.getDifficulty());
+ }
+
+ public double getThreeBVPerSecond() {
+  return timeMillis == 0 ? 0 : threeBV * 1000.0 / timeMillis;
+ }
+}
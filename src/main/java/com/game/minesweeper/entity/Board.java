@@ -16,12 +16,15 @@
 
 package com.game.minesweeper.entity;
 
-import com.game.minesweeper.constants.Constants;
+import com.game.minesweeper.topology.Topology;
+import com.game.minesweeper.topology.TopologyType;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Getter
 @Setter
@@ -34,44 +37,166 @@ public class Board {
     private boolean mineHit;
     private int rows;
     private int columns;
+    private Topology topology;
+
+    private long seed;
+    private int numberOfMoves;
+    private long startTimeMillis;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final MoveHistory history = new MoveHistory();
 
     public Board(int rows, int cols, int mines) {
+        this(rows, cols, mines, TopologyType.RECTANGULAR);
+    }
+
+    public Board(int rows, int cols, int mines, TopologyType topologyType) {
+        this(rows, cols, mines, topologyType, ThreadLocalRandom.current().nextLong());
+    }
+
+    public Board(int rows, int cols, int mines, TopologyType topologyType, long seed) {
+        this(rows, cols, mines, topologyType, seed, null);
+    }
+
+    /**
+     * Builds a board whose bands of rows are initialised, mined and counted in parallel on the given pool.
+     * The board is identical to the one built on a single thread from the same seed, whatever the pool's parallelism.
+     *
+     * @param pool the pool to build on, or {@code null} to build on the calling thread
+     */
+    public Board(int rows, int cols, int mines, TopologyType topologyType, long seed, ForkJoinPool pool) {
         this.rows = rows;
         this.columns = cols;
+        this.topology = new Topology(topologyType, rows, cols);
+        this.squares = new Square[rows][];
+        reset(mines, seed, pool);
+    }
+
+    /**
+     * Starts a new game on this board without allocating: every square is cleared in place,
+     * and the mines are placed again from the given seed.
+     * The same dimensions, mine count and seed always produce the same mine layout.
+     *
+     * @param mines the number of mines to place
+     * @param seed the seed for the mine placement
+     */
+    public void reset(int mines, long seed) {
+        reset(mines, seed, null);
+    }
+
+    /**
+     * Same as {@link #reset(int, long)}, but clears and regenerates the bands of rows in parallel on the given pool.
+     *
+     * @param pool the pool to regenerate on, or {@code null} to regenerate on the calling thread
+     */
+    public void reset(int mines, long seed, ForkJoinPool pool) {
         this.numMines = mines;
         this.numberOfNonMineSquares = (this.rows * this.columns) - numMines;
-        initializeSquares(rows, cols);
-        placeMines();
-        calculateAdjacentMines();
+        this.numberOfNonMineSquaresRevealed = 0;
+        this.mineHit = false;
+        this.seed = seed;
+        this.numberOfMoves = 0;
+        this.startTimeMillis = 0;
+        this.history.clear();
+        BoardGenerator.generate(this, pool);
     }
 
-    private void initializeSquares(int rows, int cols) {
-        squares = new Square[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                squares[i][j] = new Square();
-                squares[i][j].setPrintValue(Constants.UNDERSCORE_SYMBOL);
-            }
+    public void processMine(int row, int col) {
+        if (getSquares()[row][col].isMine()) {
+            mineHit = true;
+            history.beginMove();
+            history.record(-(row * columns + col) - 1);
+            history.endMove();
         }
     }
 
-    private void placeMines() {
-        Random rand = new Random();
-        int minesPlaced = 0;
-        while (minesPlaced < numMines) {
-            int row = rand.nextInt(rows);
-            int col = rand.nextInt(columns);
-            if (!squares[row][col].isMine()) {
-                squares[row][col].setMine(true);
-                minesPlaced++;
+    /**
+     * Starts recording a move. Every square revealed until {@link #endMove()} is undone and redone together.
+     */
+    public void beginMove() {
+        history.beginMove();
+    }
+
+    public void recordReveal(int row, int col) {
+        history.record(row * columns + col);
+    }
+
+    public void endMove() {
+        history.endMove();
+    }
+
+    /**
+     * Hides again the squares revealed by the last move, or clears the mine hit if that move hit one, and takes the
+     * move off the move count. Runs in time proportional to the squares the move changed.
+     *
+     * @return {@code false} if there is no move to undo
+     */
+    public boolean undoMove() {
+        if (!history.canUndo()) {
+            return false;
+        }
+        int move = history.undo();
+        numberOfMoves = Math.max(0, numberOfMoves - 1);
+        for (int position = history.moveStart(move); position < history.moveEnd(move); position++) {
+            int square = history.squareAt(position);
+            if (square < 0) {
+                mineHit = false;
+            } else {
+                squares[square / columns][square % columns].hide();
+                numberOfNonMineSquaresRevealed--;
             }
         }
+        return true;
     }
 
-    public void processMine(int row, int col) {
-        if (getSquares()[row][col].isMine()) {
-            mineHit = true;
+    /**
+     * Applies the last undone move again, and counts it again.
+     *
+     * @return {@code false} if there is no undone move to redo
+     */
+    public boolean redoMove() {
+        if (!history.canRedo()) {
+            return false;
         }
+        int move = history.redo();
+        numberOfMoves++;
+        for (int position = history.moveStart(move); position < history.moveEnd(move); position++) {
+            int square = history.squareAt(position);
+            if (square < 0) {
+                mineHit = true;
+            } else {
+                squares[square / columns][square % columns].reveal();
+                numberOfNonMineSquaresRevealed++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The number of squares changed by the moves currently applied. With {@link #getChangedSquare(int)} this lists
+     * the revealed squares in the order they were revealed, without scanning the board.
+     */
+    public int getChangedSquareCount() {
+        return history.moveStart(history.appliedMoves());
+    }
+
+    /**
+     * A square changed by an applied move, as {@code row * columns + column}, or {@code -(index + 1)} for a mine
+     * that was hit.
+     */
+    public int getChangedSquare(int position) {
+        return history.squareAt(position);
+    }
+
+    MoveHistory history() {
+        return history;
+    }
+
+    /**
+     * Tells whether any move of this game was undone, which keeps the game off the leaderboard.
+     */
+    public boolean isUndoUsed() {
+        return history.isUndoUsed();
     }
 
     public boolean isGameOver() {
@@ -85,35 +210,18 @@ public class Board {
         return numberOfNonMineSquares == numberOfNonMineSquaresRevealed;
     }
 
-
-
     /**
-     * Calculates the number of adjacent mines for each square of the grid.
-     * <p>
-     * This method iterates through each square in the grid. For each non-mine square,
-     * it counts the number of adjacent squares that contain mines and sets this count as the number of adjacent mines for that square.
-     * </p>
-     * <p>
-     * The method considers all eight possible adjacent squares (up, down, left, right, and the four diagonals)
-     * and ensures that the square being checked is within the bounds of the grid.
-     * </p>
+     * Writes the squares adjacent to the given square into the buffers, which must hold at least
+     * {@link Topology#MAX_NEIGHBOURS} entries.
+     *
+     * @return the number of adjacent squares written
      */
-    private void calculateAdjacentMines() {
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                if (!squares[i][j].isMine()) {
-                    int count = 0;
-                    for (int x = -1; x <= 1; x++) {
-                        for (int y = -1; y <= 1; y++) {
-                            if (isValidSquare(i + x, j + y) && squares[i + x][j + y].isMine()) {
-                                count++;
-                            }
-                        }
-                    }
-                    squares[i][j].setAdjacentMines(count);
-                }
-            }
-        }
+    public int getNeighbours(int row, int col, int[] rowBuffer, int[] columnBuffer) {
+        return topology.neighbours(row, col, rowBuffer, columnBuffer);
+    }
+
+    public TopologyType getTopologyType() {
+        return topology.getType();
     }
 
     public boolean isValidSquare(int row, int col) {
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.entity;
+
+import com.game.minesweeper.topology.Topology;
+import com.game.minesweeper.topology.TopologyType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Converts a {@link Board}, including its game progress and undo history, to a compact byte array and back.
+ * <p>
+ * The mines and the revealed squares are stored as run lengths of alternating clear and set squares in row-major
+ * order, starting with a run of clear squares, so a board costs a few bytes per run rather than an object per
+ * square. Adjacent mine counts are not stored; they are recounted from the mines when the board is decoded.
+ * All counts are written as variable-length integers.
+ * </p>
+ */
+public final class BoardCodec {
+    private static final int VERSION = 1;
+
+    private BoardCodec() {}
+
+    public static byte[] encode(Board board) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeVarint(out, board.getRows());
+            writeVarint(out, board.getColumns());
+            writeVarint(out, board.getNumMines());
+            out.writeByte(board.getTopologyType().ordinal());
+            out.writeLong(board.getSeed());
+            writeVarint(out, board.getNumberOfMoves());
+            out.writeLong(board.getStartTimeMillis());
+            out.writeBoolean(board.isMineHit());
+            writeRuns(out, board.getSquares(), Square::isMine);
+            writeRuns(out, board.getSquares(), Square::isRevealed);
+            writeHistory(out, board.history());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes were not produced by {@link #encode(Board)}
+     */
+    public static Board decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported board encoding version " + version);
+            }
+            int rows = readVarint(in);
+            int columns = readVarint(in);
+            int mines = readVarint(in);
+            TopologyType topologyType = TopologyType.values()[in.readUnsignedByte()];
+
+            Board board = new Board();
+            board.setRows(rows);
+            board.setColumns(columns);
+            board.setNumMines(mines);
+            board.setNumberOfNonMineSquares(rows * columns - mines);
+            board.setTopology(new Topology(topologyType, rows, columns));
+            board.setSeed(in.readLong());
+            board.setNumberOfMoves(readVarint(in));
+            board.setStartTimeMillis(in.readLong());
+            board.setMineHit(in.readBoolean());
+
+            Square[][] squares = new Square[rows][columns];
+            for (Square[] row : squares) {
+                for (int j = 0; j < columns; j++) {
+                    row[j] = new Square();
+                    row[j].reset();
+                }
+            }
+            board.setSquares(squares);
+            readRuns(in, squares, square -> square.setMine(true));
+            BoardGenerator.recountAdjacentMines(board);
+            board.setNumberOfNonMineSquaresRevealed(readRuns(in, squares, Square::reveal));
+            readHistory(in, board.history());
+            return board;
+        } catch (IOException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Corrupt encoded board", exception);
+        }
+    }
+
+    private static void writeRuns(DataOutputStream out, Square[][] squares, Predicate<Square> isSet) throws IOException {
+        boolean current = false;
+        int run = 0;
+        for (Square[] row : squares) {
+            for (Square square : row) {
+                if (isSet.test(square) == current) {
+                    run++;
+                } else {
+                    writeVarint(out, run);
+                    current = !current;
+                    run = 1;
+                }
+            }
+        }
+        writeVarint(out, run);
+    }
+
+    /**
+     * Reads runs until every square is covered, applying the action to each square in a set run.
+     *
+     * @return the number of set squares
+     */
+    private static int readRuns(DataInputStream in, Square[][] squares, Consumer<Square> set) throws IOException {
+        int columns = squares.length == 0 ? 0 : squares[0].length;
+        int total = squares.length * columns;
+        int position = 0;
+        int setSquares = 0;
+        boolean current = false;
+        while (position < total) {
+            int run = readVarint(in);
+            if (current) {
+                for (int index = position; index < position + run; index++) {
+                    set.accept(squares[index / columns][index % columns]);
+                }
+                setSquares += run;
+            }
+            position += run;
+            current = !current;
+        }
+        return setSquares;
+    }
+
+    private static void writeHistory(DataOutputStream out, MoveHistory history) throws IOException {
+        int recordedMoves = history.recordedMoves();
+        writeVarint(out, recordedMoves);
+        writeVarint(out, history.appliedMoves());
+        out.writeBoolean(history.isUndoUsed());
+        for (int move = 0; move < recordedMoves; move++) {
+            writeVarint(out, history.moveEnd(move) - history.moveStart(move));
+        }
+        int squares = recordedMoves == 0 ? 0 : history.moveEnd(recordedMoves - 1);
+        for (int position = 0; position < squares; position++) {
+            int square = history.squareAt(position);
+            writeVarint(out, (square << 1) ^ (square >> 31));
+        }
+    }
+
+    private static void readHistory(DataInputStream in, MoveHistory history) throws IOException {
+        int recordedMoves = readVarint(in);
+        int appliedMoves = readVarint(in);
+        boolean undoUsed = in.readBoolean();
+        int[] moveEnds = new int[recordedMoves];
+        int end = 0;
+        for (int move = 0; move < recordedMoves; move++) {
+            end += readVarint(in);
+            moveEnds[move] = end;
+        }
+        int[] squares = new int[end];
+        for (int position = 0; position < end; position++) {
+            int zigzag = readVarint(in);
+            squares[position] = (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        history.restore(squares, moveEnds, appliedMoves, recordedMoves, undoUsed);
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Variable-length integer is too long");
+    }
+}
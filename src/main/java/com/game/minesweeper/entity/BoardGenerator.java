@@ -0,0 +1,254 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.entity;
+
+import com.game.minesweeper.topology.Topology;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fills a {@link Board} with squares, mines and adjacent mine counts, one band of rows at a time.
+ * <p>
+ * The grid is cut into bands of whole rows holding about {@link #BAND_SQUARES} squares each, so wide grids are
+ * split as finely as tall ones. The number of mines in each band is decided up front from
+ * the seed, and each band then places its own mines from an independent random stream derived from the seed and
+ * the band index. Band boundaries never depend on the number of threads, so a seed always produces the same board
+ * whether the bands run one after another or in parallel on a {@link ForkJoinPool}. Grids smaller than
+ * {@link #MIN_PARALLEL_SQUARES} always run on the calling thread, as forking would cost more than it saves.
+ * </p>
+ * <p>
+ * Adjacent mines are counted in a second pass, once every band has placed its mines, so each band can read the
+ * rows just outside its own edges.
+ * </p>
+ */
+final class BoardGenerator {
+    private static final int BAND_SQUARES = 1 << 14;
+    private static final int MIN_PARALLEL_SQUARES = 2 * BAND_SQUARES;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private BoardGenerator() {}
+
+    /**
+     * Generates the board in place for its current mine count and seed.
+     *
+     * @param board the board to fill; its rows, columns and topology must already be set
+     * @param pool the pool to run the bands on, or {@code null} to run them on the calling thread
+     */
+    static void generate(Board board, ForkJoinPool pool) {
+        int bands = bandCount(board);
+        if ((long) board.getRows() * board.getColumns() < MIN_PARALLEL_SQUARES) {
+            pool = null;
+        }
+        int[] bandMines = allocateMinesToBands(board, bands);
+        forEachBand(pool, bands, band -> {
+            prepareSquares(board, band);
+            placeMines(board, band, bandMines[band]);
+        });
+        forEachBand(pool, bands, band -> calculateAdjacentMines(board, band));
+    }
+
+    /**
+     * Recounts the adjacent mines of every square from the mines already on the board, on the calling thread.
+     */
+    static void recountAdjacentMines(Board board) {
+        forEachBand(null, bandCount(board), band -> calculateAdjacentMines(board, band));
+    }
+
+    /**
+     * Splits the mines between the bands in proportion to their size. The mines left over by rounding down
+     * go to distinct bands picked by a shuffle driven by the seed.
+     */
+    private static int[] allocateMinesToBands(Board board, int bands) {
+        long squares = (long) board.getRows() * board.getColumns();
+        int[] bandMines = new int[bands];
+        int remainingMines = board.getNumMines();
+        for (int band = 0; band < bands; band++) {
+            bandMines[band] = (int) (board.getNumMines() * bandSquares(board, band) / squares);
+            remainingMines -= bandMines[band];
+        }
+        if (remainingMines == 0) {
+            return bandMines;
+        }
+        int[] order = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            order[band] = band;
+        }
+        long state = mix64(board.getSeed());
+        for (int k = 0; k < remainingMines; k++) {
+            state += GOLDEN_GAMMA;
+            int pick = k + nextInt(state, bands - k);
+            int band = order[pick];
+            order[pick] = order[k];
+            order[k] = band;
+            bandMines[band]++;
+        }
+        return bandMines;
+    }
+
+    private static void prepareSquares(Board board, int band) {
+        Square[][] squares = board.getSquares();
+        for (int i = firstRow(board, band); i < lastRow(board, band); i++) {
+            if (squares[i] == null) {
+                squares[i] = new Square[board.getColumns()];
+                for (int j = 0; j < board.getColumns(); j++) {
+                    squares[i][j] = new Square();
+                }
+            }
+            for (Square square : squares[i]) {
+                square.reset();
+            }
+        }
+    }
+
+    /**
+     * Places the band's mines by picking random squares until enough are set. When more than half of the band
+     * is mined it starts from a fully mined band and picks the safe squares instead, so the picking never has to
+     * search for the last few free squares.
+     */
+    private static void placeMines(Board board, int band, int mines) {
+        Square[][] squares = board.getSquares();
+        int columns = board.getColumns();
+        int firstRow = firstRow(board, band);
+        int bandSquares = (int) bandSquares(board, band);
+        boolean placeSafeSquares = mines * 2 > bandSquares;
+        if (placeSafeSquares) {
+            for (int i = firstRow; i < lastRow(board, band); i++) {
+                for (Square square : squares[i]) {
+                    square.setMine(true);
+                }
+            }
+        }
+        int toPlace = placeSafeSquares ? bandSquares - mines : mines;
+        long state = mix64(board.getSeed() + (band + 1) * GOLDEN_GAMMA);
+        while (toPlace > 0) {
+            state += GOLDEN_GAMMA;
+            int index = nextInt(state, bandSquares);
+            Square square = squares[firstRow + index / columns][index % columns];
+            if (square.isMine() == placeSafeSquares) {
+                square.setMine(!placeSafeSquares);
+                toPlace--;
+            }
+        }
+    }
+
+    /**
+     * Counts the adjacent mines of every non-mine square in the band. Interior squares add the topology's fixed
+     * offsets without bounds checks; squares on the edge of the grid use its precomputed border tables.
+     */
+    private static void calculateAdjacentMines(Board board, int band) {
+        Square[][] squares = board.getSquares();
+        Topology topology = board.getTopology();
+        int[] rowBuffer = new int[Topology.MAX_NEIGHBOURS];
+        int[] columnBuffer = new int[Topology.MAX_NEIGHBOURS];
+        for (int i = firstRow(board, band); i < lastRow(board, band); i++) {
+            int[] rowOffsets = topology.getRowOffsets(i);
+            int[] columnOffsets = topology.getColumnOffsets(i);
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (!squares[i][j].isMine()) {
+                    int count = 0;
+                    if (topology.isInterior(i, j)) {
+                        for (int k = 0; k < rowOffsets.length; k++) {
+                            if (squares[i + rowOffsets[k]][j + columnOffsets[k]].isMine()) {
+                                count++;
+                            }
+                        }
+                    } else {
+                        int neighbours = topology.neighbours(i, j, rowBuffer, columnBuffer);
+                        for (int k = 0; k < neighbours; k++) {
+                            if (squares[rowBuffer[k]][columnBuffer[k]].isMine()) {
+                                count++;
+                            }
+                        }
+                    }
+                    squares[i][j].setAdjacentMines(count);
+                }
+            }
+        }
+    }
+
+    private static int bandRows(Board board) {
+        return Math.max(1, BAND_SQUARES / Math.max(1, board.getColumns()));
+    }
+
+    private static int bandCount(Board board) {
+        return (board.getRows() + bandRows(board) - 1) / bandRows(board);
+    }
+
+    private static int firstRow(Board board, int band) {
+        return band * bandRows(board);
+    }
+
+    private static int lastRow(Board board, int band) {
+        return Math.min(board.getRows(), (band + 1) * bandRows(board));
+    }
+
+    private static long bandSquares(Board board, int band) {
+        return (long) (lastRow(board, band) - firstRow(board, band)) * board.getColumns();
+    }
+
+    private static void forEachBand(ForkJoinPool pool, int bands, IntConsumer action) {
+        if (pool == null || bands == 1) {
+            for (int band = 0; band < bands; band++) {
+                action.accept(band);
+            }
+        } else {
+            pool.invoke(new BandTask(action, 0, bands));
+        }
+    }
+
+    /**
+     * Maps a position in a random stream to a number in {@code [0, bound)}.
+     */
+    private static int nextInt(long state, int bound) {
+        return (int) (((mix64(state) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * The SplitMix64 finaliser: spreads every bit of the input over the whole output.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+        private final int fromBand;
+        private final int toBand;
+
+        private BandTask(IntConsumer action, int fromBand, int toBand) {
+            this.action = action;
+            this.fromBand = fromBand;
+            this.toBand = toBand;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBand - fromBand == 1) {
+                action.accept(fromBand);
+                return;
+            }
+            int middle = (fromBand + toBand) >>> 1;
+            invokeAll(new BandTask(action, fromBand, middle), new BandTask(action, middle, toBand));
+        }
+    }
+}
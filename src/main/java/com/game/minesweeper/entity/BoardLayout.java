@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.entity;
+
+import com.game.minesweeper.topology.Topology;
+import com.game.minesweeper.topology.TopologyType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The immutable part of a board: where the mines are and how many mines touch each square.
+ * <p>
+ * A layout holds no game progress, so one instance can be shared by every player of the same seeded board.
+ * Mines are stored one bit per square and adjacent mine counts one byte per square, in row-major order.
+ * Progress lives in a {@link PlayerBoard} per player.
+ * </p>
+ */
+@Getter
+public final class BoardLayout {
+    private final int rows;
+    private final int columns;
+    private final int numMines;
+    private final long seed;
+    private final Topology topology;
+    @Getter(AccessLevel.NONE)
+    private final long[] mines;
+    @Getter(AccessLevel.NONE)
+    private final byte[] adjacentMines;
+
+    private BoardLayout(Board board) {
+        this.rows = board.getRows();
+        this.columns = board.getColumns();
+        this.numMines = board.getNumMines();
+        this.seed = board.getSeed();
+        this.topology = board.getTopology();
+        this.mines = new long[(rows * columns + 63) >>> 6];
+        this.adjacentMines = new byte[rows * columns];
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int index = i * columns + j;
+                if (squares[i][j].isMine()) {
+                    mines[index >>> 6] |= 1L << index;
+                }
+                adjacentMines[index] = (byte) squares[i][j].getAdjacentMines();
+            }
+        }
+    }
+
+    /**
+     * Generates the layout of the board with the given size, mine count, topology and seed. The layout has the same
+     * mines as a {@link Board} built from the same arguments. Large layouts are generated on the common
+     * {@link ForkJoinPool}.
+     */
+    public static BoardLayout generate(int rows, int cols, int mines, TopologyType topologyType, long seed) {
+        return new BoardLayout(new Board(rows, cols, mines, topologyType, seed, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Copies the mines and adjacent mine counts of an existing board.
+     */
+    public static BoardLayout of(Board board) {
+        return new BoardLayout(board);
+    }
+
+    public boolean isMine(int row, int col) {
+        int index = row * columns + col;
+        return (mines[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int getAdjacentMines(int row, int col) {
+        return adjacentMines[row * columns + col];
+    }
+
+    public TopologyType getTopologyType() {
+        return topology.getType();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.entity;
+
+import java.util.Arrays;
+
+/**
+ * Records, for every move, the squares it revealed, so moves can be undone and redone.
+ * <p>
+ * All moves share one flat log of packed square indices, and a second array marks where each move ends, so a move
+ * costs memory in proportion to the squares it changed, never to the size of the board. Undoing a move only moves
+ * the cursor back; the move stays in the log for a redo until a new move is recorded over it.
+ * A move that hit a mine stores the mine as {@code -(index + 1)}.
+ * </p>
+ */
+final class MoveHistory {
+    private int[] squares = new int[64];
+    private int[] moveEnds = new int[16];
+    private int size;
+    private int appliedMoves;
+    private int recordedMoves;
+    private boolean undoUsed;
+
+    void clear() {
+        size = 0;
+        appliedMoves = 0;
+        recordedMoves = 0;
+        undoUsed = false;
+    }
+
+    /**
+     * Starts recording a new move, discarding any undone moves that could still have been redone.
+     */
+    void beginMove() {
+        recordedMoves = appliedMoves;
+        size = moveStart(appliedMoves);
+    }
+
+    void record(int square) {
+        if (size == squares.length) {
+            squares = Arrays.copyOf(squares, size * 2);
+        }
+        squares[size++] = square;
+    }
+
+    void endMove() {
+        if (appliedMoves == moveEnds.length) {
+            moveEnds = Arrays.copyOf(moveEnds, appliedMoves * 2);
+        }
+        moveEnds[appliedMoves++] = size;
+        recordedMoves = appliedMoves;
+    }
+
+    boolean canUndo() {
+        return appliedMoves > 0;
+    }
+
+    boolean canRedo() {
+        return appliedMoves < recordedMoves;
+    }
+
+    /**
+     * Steps back over the last applied move.
+     *
+     * @return the index of the move to roll back
+     */
+    int undo() {
+        undoUsed = true;
+        return --appliedMoves;
+    }
+
+    /**
+     * Steps forward over the next undone move.
+     *
+     * @return the index of the move to apply again
+     */
+    int redo() {
+        return appliedMoves++;
+    }
+
+    int moveStart(int move) {
+        return move == 0 ? 0 : moveEnds[move - 1];
+    }
+
+    int moveEnd(int move) {
+        return moveEnds[move];
+    }
+
+    int squareAt(int position) {
+        return squares[position];
+    }
+
+    boolean isUndoUsed() {
+        return undoUsed;
+    }
+
+    int appliedMoves() {
+        return appliedMoves;
+    }
+
+    int recordedMoves() {
+        return recordedMoves;
+    }
+
+    /**
+     * Replaces the whole history, for restoring an encoded board.
+     */
+    void restore(int[] squares, int[] moveEnds, int appliedMoves, int recordedMoves, boolean undoUsed) {
+        this.squares = Arrays.copyOf(squares, Math.max(64, squares.length));
+        this.moveEnds = Arrays.copyOf(moveEnds, Math.max(16, moveEnds.length));
+        this.appliedMoves = appliedMoves;
+        this.recordedMoves = recordedMoves;
+        this.undoUsed = undoUsed;
+        this.size = moveStart(appliedMoves);
+    }
+}
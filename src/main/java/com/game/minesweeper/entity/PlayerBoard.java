@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.entity;
+
+import com.game.minesweeper.constants.Constants;
+import com.game.minesweeper.topology.FloodFill;
+import lombok.Getter;
+
+/**
+ * One player's progress on a shared {@link BoardLayout}: which squares are revealed or flagged, and whether a mine
+ * was hit.
+ * <p>
+ * Only two bitmaps are kept per player; mines and adjacent mine counts are read from the layout, which is never
+ * modified. A player board is meant for a single session and is not thread-safe.
+ * </p>
+ */
+public class PlayerBoard {
+    @Getter
+    private final BoardLayout layout;
+    private final long[] revealed;
+    private final long[] flagged;
+    @Getter
+    private int numberOfNonMineSquaresRevealed;
+    @Getter
+    private boolean mineHit;
+
+    public PlayerBoard(BoardLayout layout) {
+        this.layout = layout;
+        int words = (layout.getRows() * layout.getColumns() + 63) >>> 6;
+        this.revealed = new long[words];
+        this.flagged = new long[words];
+    }
+
+    /**
+     * Reveals the square at the specified row and column. Hitting a mine ends the game; revealing a square with
+     * no adjacent mines also reveals every connected square without adjacent mines and their neighbours.
+     * Flagged squares are neither revealed nor spread into.
+     */
+    public void reveal(int row, int col) {
+        if (isRevealed(row, col) || isFlagged(row, col)) {
+            return;
+        }
+        if (layout.isMine(row, col)) {
+            mineHit = true;
+            return;
+        }
+        FloodFill.fill(layout.getTopology()::neighbours, row, col, this::open);
+    }
+
+    private boolean open(int row, int col) {
+        if (isRevealed(row, col) || isFlagged(row, col) || layout.isMine(row, col)) {
+            return false;
+        }
+        markRevealed(row, col);
+        return layout.getAdjacentMines(row, col) == 0;
+    }
+
+    public void toggleFlag(int row, int col) {
+        if (!isRevealed(row, col)) {
+            int index = index(row, col);
+            flagged[index >>> 6] ^= 1L << index;
+        }
+    }
+
+    public boolean isRevealed(int row, int col) {
+        int index = index(row, col);
+        return (revealed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isFlagged(int row, int col) {
+        int index = index(row, col);
+        return (flagged[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public String getPrintValue(int row, int col) {
+        if (isRevealed(row, col)) {
+            return Square.printValueOf(layout.getAdjacentMines(row, col));
+        }
+        return isFlagged(row, col) ? Constants.FLAG_SYMBOL : Constants.UNDERSCORE_SYMBOL;
+    }
+
+    public boolean isGameOver() {
+        return isGameLost() || isGameWon();
+    }
+
+    public boolean isGameLost() {
+        return mineHit;
+    }
+
+    public boolean isGameWon() {
+        return numberOfNonMineSquaresRevealed == layout.getRows() * layout.getColumns() - layout.getNumMines();
+    }
+
+    private void markRevealed(int row, int col) {
+        int index = index(row, col);
+        revealed[index >>> 6] |= 1L << index;
+        numberOfNonMineSquaresRevealed++;
+    }
+
+    private int index(int row, int col) {
+        return row * layout.getColumns() + col;
+    }
+}
@@ -16,15 +16,39 @@
 
 package com.game.minesweeper.entity;
 
+import com.game.minesweeper.constants.Constants;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class Square {
+    private static final String[] ADJACENT_MINES_PRINT_VALUES = {"0", "1", "2", "3", "4", "5", "6", "7", "8"};
+
     private boolean isMine;
     private boolean isRevealed;
     private int adjacentMines;
     private String printValue;
+
+    public void reset() {
+        isMine = false;
+        isRevealed = false;
+        adjacentMines = 0;
+        printValue = Constants.UNDERSCORE_SYMBOL;
+    }
+
+    public void reveal() {
+        isRevealed = true;
+        printValue = printValueOf(adjacentMines);
+    }
+
+    static String printValueOf(int adjacentMines) {
+        return ADJACENT_MINES_PRINT_VALUES[adjacentMines];
+    }
+
+    public void hide() {
+        isRevealed = false;
+        printValue = Constants.UNDERSCORE_SYMBOL;
+    }
  }
 
@@ -16,16 +16,27 @@
 
 package com.game.minesweeper.injector;
 
+import com.game.minesweeper.constants.Constants;
 import com.game.minesweeper.controller.MineSweeperController;
 import com.game.minesweeper.controller.Controller;
+import com.game.minesweeper.pool.BoardPool;
+import com.game.minesweeper.pool.BoardPregenerator;
+import com.game.minesweeper.pool.BoardPreset;
+import com.game.minesweeper.service.impl.AnytimeHintServiceImpl;
 import com.game.minesweeper.service.impl.CLIGameServiceImpl;
+import com.game.minesweeper.service.impl.LeaderboardServiceImpl;
 import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This class is an implementation of the GameServiceInjector interface.
  * It provides a method to get a GameController instance.
  * The GameController instance is created with a CLIGameServiceImpl instance,
- * which in turn is created with a SimpleBoardServiceImpl instance.
+ * which in turn is created with SimpleBoardServiceImpl, LeaderboardServiceImpl and AnytimeHintServiceImpl instances.
  * This setup represents the dependency injection for the application.
  *
  * @author Phuoc Dang
@@ -34,15 +45,27 @@ import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
  */
 public class CLIGameServiceInjectorImpl implements GameServiceInjector {
 
+    private static final int MAX_MINES_ON_LARGEST_GRID =
+            (int) (Constants.MAX_GRID_SIZE * Constants.MAX_GRID_SIZE * Constants.MAX_MINE_TO_SQUARE_RATIO);
+    private static final List<BoardPreset> PREGENERATED_PRESETS = Arrays.asList(
+            new BoardPreset(Constants.MAX_GRID_SIZE, 10, TopologyType.RECTANGULAR),
+            new BoardPreset(Constants.MAX_GRID_SIZE, MAX_MINES_ON_LARGEST_GRID, TopologyType.RECTANGULAR));
+
     /**
      * This method creates and returns a GameController instance.
      * The GameController is created with a CLIGameServiceImpl instance,
-     * which is created with a SimpleBoardServiceImpl instance.
+     * which is created with a SimpleBoardServiceImpl instance that keeps 9x9 boards with 10 mines and with the
+     * most mines allowed pre-generated on a background thread, a LeaderboardServiceImpl
+     * backed by a file in the working directory and an AnytimeHintServiceImpl instance.
      *
      * @return a GameController instance with the necessary dependencies
      */
     @Override
     public Controller getGameController() {
-        return new MineSweeperController(new CLIGameServiceImpl(new SimpleBoardServiceImpl()));
+        BoardPool boardPool = new BoardPool();
+        BoardPregenerator boardPregenerator = new BoardPregenerator(boardPool, PREGENERATED_PRESETS, 1,
+                Constants.PREGENERATED_BOARDS_PER_PRESET);
+        return new MineSweeperController(new CLIGameServiceImpl(new SimpleBoardServiceImpl(boardPool, boardPregenerator),
+                new LeaderboardServiceImpl(Paths.get(Constants.LEADERBOARD_FILE_NAME)), new AnytimeHintServiceImpl()));
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.pool;
+
+import com.game.minesweeper.entity.BoardLayout;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shares one {@link BoardLayout} between every player of the same seeded board, such as a daily challenge.
+ * <p>
+ * Each layout is generated once, by the first thread that asks for it; threads asking at the same time wait for
+ * that result instead of generating their own copy. At most {@code maxLayouts} layouts are kept, and the least
+ * recently used one is evicted first. Players keep the layout they already hold after it is evicted.
+ * </p>
+ * <p>
+ * The console game plays one board per process and keeps undo history on its {@link com.game.minesweeper.entity.Board},
+ * so it does not use the cache; it is meant for a server that hosts many players on the same board.
+ * </p>
+ */
+public class BoardLayoutCache {
+    private final Map<LayoutKey, CompletableFuture<BoardLayout>> layouts;
+
+    public BoardLayoutCache(int maxLayouts) {
+        this.layouts = new LinkedHashMap<LayoutKey, CompletableFuture<BoardLayout>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LayoutKey, CompletableFuture<BoardLayout>> eldest) {
+                return size() > maxLayouts;
+            }
+        };
+    }
+
+    public BoardLayout get(LayoutKey key) {
+        CompletableFuture<BoardLayout> layout;
+        boolean generateHere = false;
+        synchronized (layouts) {
+            layout = layouts.get(key);
+            if (layout == null) {
+                layout = new CompletableFuture<>();
+                layouts.put(key, layout);
+                generateHere = true;
+            }
+        }
+        if (generateHere) {
+            try {
+                layout.complete(BoardLayout.generate(key.getRows(), key.getColumns(), key.getNumberOfMines(),
+                        key.getTopologyType(), key.getSeed()));
+            } catch (RuntimeException exception) {
+                synchronized (layouts) {
+                    layouts.remove(key, layout);
+                }
+                layout.completeExceptionally(exception);
+                throw exception;
+            }
+        }
+        return layout.join();
+    }
+
+    public int size() {
+        synchronized (layouts) {
+            return layouts.size();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.pool;
+
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.topology.TopologyType;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Keeps finished boards so that a new game of the same size can reuse their squares and neighbour tables
+ * instead of allocating a fresh grid.
+ * <p>
+ * Boards are kept per {@link BoardDimensions}, at most {@code maxIdlePerDimensions} of each, and handed out
+ * most recently released first. At most {@code maxDimensions} different dimensions are kept; the boards of the
+ * least recently used dimensions are dropped first. Releasing a board that is already idle in the pool has no
+ * effect, so it cannot be handed to two games. The pool is safe to share between threads; a board must not be
+ * used after it has been released.
+ * </p>
+ * <p>
+ * Boards are generated and reset on a {@link ForkJoinPool}, the common pool unless another is given. Only large
+ * boards are actually split across its threads; small ones are built on the calling thread.
+ * </p>
+ */
+public class BoardPool {
+    private static final int DEFAULT_MAX_IDLE_PER_DIMENSIONS = 16;
+    private static final int DEFAULT_MAX_DIMENSIONS = 32;
+
+    private final int maxIdlePerDimensions;
+    private final Map<BoardDimensions, ArrayDeque<Board>> idleBoards;
+    private final ForkJoinPool generationPool;
+
+    public BoardPool() {
+        this(DEFAULT_MAX_IDLE_PER_DIMENSIONS);
+    }
+
+    public BoardPool(int maxIdlePerDimensions) {
+        this(maxIdlePerDimensions, DEFAULT_MAX_DIMENSIONS);
+    }
+
+    public BoardPool(int maxIdlePerDimensions, int maxDimensions) {
+        this(maxIdlePerDimensions, maxDimensions, ForkJoinPool.commonPool());
+    }
+
+    public BoardPool(int maxIdlePerDimensions, int maxDimensions, ForkJoinPool generationPool) {
+        this.maxIdlePerDimensions = maxIdlePerDimensions;
+        this.generationPool = generationPool;
+        this.idleBoards = new LinkedHashMap<BoardDimensions, ArrayDeque<Board>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BoardDimensions, ArrayDeque<Board>> eldest) {
+                return size() > maxDimensions;
+            }
+        };
+    }
+
+    /**
+     * Returns a board ready for a new game, reset in place from an idle board of the same dimensions
+     * when one is available, or newly built otherwise.
+     */
+    public Board acquire(int rows, int cols, int mines, TopologyType topologyType, long seed) {
+        Board board = null;
+        synchronized (idleBoards) {
+            ArrayDeque<Board> idle = idleBoards.get(new BoardDimensions(rows, cols, topologyType));
+            if (idle != null) {
+                board = idle.pollFirst();
+            }
+        }
+        if (board == null) {
+            return new Board(rows, cols, mines, topologyType, seed, generationPool);
+        }
+        board.reset(mines, seed, generationPool);
+        return board;
+    }
+
+    /**
+     * Hands a finished board back for reuse. Boards beyond the per-dimension limit are left to the garbage collector,
+     * and a board that is already idle in the pool is ignored.
+     */
+    public void release(Board board) {
+        BoardDimensions dimensions = new BoardDimensions(board.getRows(), board.getColumns(), board.getTopologyType());
+        synchronized (idleBoards) {
+            ArrayDeque<Board> idle = idleBoards.computeIfAbsent(dimensions, key -> new ArrayDeque<>(maxIdlePerDimensions));
+            if (idle.size() < maxIdlePerDimensions && !containsSame(idle, board)) {
+                idle.addFirst(board);
+            }
+        }
+    }
+
+    /**
+     * @return the number of different dimensions boards are currently kept for
+     */
+    public int getDimensionCount() {
+        synchronized (idleBoards) {
+            return idleBoards.size();
+        }
+    }
+
+    private static boolean containsSame(ArrayDeque<Board> idle, Board board) {
+        for (Board idleBoard : idle) {
+            if (idleBoard == board) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.pool;
+
+import com.game.minesweeper.entity.Board;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates boards for popular presets on background threads, so that starting a game only has to take a board
+ * that is already built.
+ * <p>
+ * Each preset has a bounded queue and a target depth that follows demand: a request that finds the queue empty
+ * doubles the target, up to the queue's capacity. Requests that find a board are counted in windows as long as the
+ * target; if every request in a window left boards behind, the fewest left behind were never needed and the target
+ * is lowered by that many, down to one. After every request the queue is topped up to the target by a single refill
+ * task for that preset.
+ * Boards are taken from the {@link BoardPool}, so background generation reuses finished boards as well.
+ * </p>
+ */
+public class BoardPregenerator {
+    private final BoardPool boardPool;
+    private final int maxQueueDepth;
+    private final Map<BoardPreset, PresetQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService generators;
+
+    public BoardPregenerator(BoardPool boardPool, Collection<BoardPreset> presets, int threads, int maxQueueDepth) {
+        this.boardPool = boardPool;
+        this.maxQueueDepth = maxQueueDepth;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.generators = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "board-pregenerator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (BoardPreset preset : presets) {
+            PresetQueue queue = new PresetQueue(preset);
+            queues.put(preset, queue);
+            queue.scheduleRefill();
+        }
+    }
+
+    /**
+     * Takes a ready board for the preset.
+     *
+     * @return a new game's board, or {@code null} if the preset is not pre-generated or its queue is empty
+     */
+    public Board poll(BoardPreset preset) {
+        PresetQueue queue = queues.get(preset);
+        if (queue == null) {
+            return null;
+        }
+        Board board = queue.boards.poll();
+        queue.recordDemand(board != null);
+        queue.scheduleRefill();
+        return board;
+    }
+
+    /**
+     * @return the number of boards ready for the preset, or {@code 0} if it is not pre-generated
+     */
+    public int getQueuedBoards(BoardPreset preset) {
+        PresetQueue queue = queues.get(preset);
+        return queue == null ? 0 : queue.boards.size();
+    }
+
+    /**
+     * @return the number of boards the preset's queue is currently topped up to, or {@code 0} if it is not
+     * pre-generated
+     */
+    public int getTargetDepth(BoardPreset preset) {
+        PresetQueue queue = queues.get(preset);
+        return queue == null ? 0 : queue.targetDepth.get();
+    }
+
+    /**
+     * Stops background generation. Boards already queued can still be taken.
+     */
+    public void shutdown() {
+        generators.shutdownNow();
+    }
+
+    private final class PresetQueue {
+        private final BoardPreset preset;
+        private final ArrayBlockingQueue<Board> boards = new ArrayBlockingQueue<>(maxQueueDepth);
+        private final AtomicInteger targetDepth = new AtomicInteger(1);
+        private final AtomicBoolean refillScheduled = new AtomicBoolean();
+        private int pollsInWindow;
+        private int fewestLeftInWindow = Integer.MAX_VALUE;
+
+        private PresetQueue(BoardPreset preset) {
+            this.preset = preset;
+        }
+
+        /**
+         * Adjusts the target after a request. The window restarts whenever the target changes, so each decision is
+         * based on requests served at the current target.
+         */
+        private synchronized void recordDemand(boolean boardFound) {
+            if (!boardFound) {
+                targetDepth.updateAndGet(target -> Math.min(maxQueueDepth, target * 2));
+                startWindow();
+                return;
+            }
+            fewestLeftInWindow = Math.min(fewestLeftInWindow, boards.size());
+            if (++pollsInWindow < targetDepth.get()) {
+                return;
+            }
+            int unused = fewestLeftInWindow;
+            if (unused > 0) {
+                targetDepth.updateAndGet(target -> Math.max(1, target - unused));
+            }
+            startWindow();
+        }
+
+        private void startWindow() {
+            pollsInWindow = 0;
+            fewestLeftInWindow = Integer.MAX_VALUE;
+        }
+
+        private void scheduleRefill() {
+            if (boards.size() < targetDepth.get() && refillScheduled.compareAndSet(false, true)) {
+                try {
+                    generators.execute(this::refill);
+                } catch (RejectedExecutionException exception) {
+                    refillScheduled.set(false);
+                }
+            }
+        }
+
+        /**
+         * Builds boards until the queue reaches its target. The target may have been raised while the flag was
+         * still set, so it is checked once more after the flag is cleared.
+         */
+        private void refill() {
+            try {
+                while (boards.size() < targetDepth.get() && !Thread.currentThread().isInterrupted()) {
+                    Board board = boardPool.acquire(preset.getGridSize(), preset.getGridSize(), preset.getNumberOfMines(),
+                            preset.getTopologyType(), ThreadLocalRandom.current().nextLong());
+                    if (!boards.offer(board)) {
+                        boardPool.release(board);
+                        break;
+                    }
+                }
+            } finally {
+                refillScheduled.set(false);
+            }
+            if (!Thread.currentThread().isInterrupted()) {
+                scheduleRefill();
+            }
+        }
+    }
+}
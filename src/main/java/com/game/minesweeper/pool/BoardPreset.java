@@ -0,0 +1,30 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.pool;
+
+import com.game.minesweeper.topology.TopologyType;
+import lombok.Value;
+
+/**
+ * A board configuration players start often enough to keep boards ready for.
+ */
+@Value
+public class BoardPreset {
+    int gridSize;
+    int numberOfMines;
+    TopologyType topologyType;
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.pool;
+
+import com.game.minesweeper.topology.TopologyType;
+import lombok.Value;
+
+/**
+ * Everything that decides the mine layout of a board: two boards with equal keys have identical mines.
+ */
+@Value
+public class LayoutKey {
+    int rows;
+    int columns;
+    int numberOfMines;
+    TopologyType topologyType;
+    long seed;
+}
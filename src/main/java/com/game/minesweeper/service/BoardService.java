@@ -10,5 +10,6 @@ public interface BoardService {
     void revealSquare(Board board, int row, int col);
     BoardInfoDTO buildBoardInfoDTO(Scanner scanner);
     Board buildBoard(BoardInfoDTO boardInfoDTO);
+    void releaseBoard(Board board);
 
 }
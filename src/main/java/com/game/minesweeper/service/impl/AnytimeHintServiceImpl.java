@@ -0,0 +1,535 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.service.impl;
+
+import com.game.minesweeper.dto.HintDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.service.HintService;
+import com.game.minesweeper.topology.Topology;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggests the next square to reveal, always answering within the given time budget.
+ * <p>
+ * The search only looks at what the player can see: the numbers on revealed squares and the total mine count.
+ * It runs in stages, and each stage improves the answer of the previous one:
+ * </p>
+ * <ol>
+ *     <li>Single-square deduction. A number whose mines are all accounted for makes its other hidden neighbours
+ *     safe, and a number with as many hidden neighbours as missing mines marks them all as mines. The first square
+ *     proven safe is returned straight away.</li>
+ *     <li>A rough mine probability for every hidden square next to a number, and a shared probability for all
+ *     hidden squares away from the numbers.</li>
+ *     <li>Rounds of refinement that rescale the probabilities around each number until they add up to its
+ *     missing mines.</li>
+ * </ol>
+ * <p>
+ * The deadline is checked every few squares in every pass, including the one that finds the numbers. When it passes,
+ * the best square from the last finished stage or round is returned, or any hidden square if no stage finished, with
+ * {@link HintDTO#isComplete()} set to {@code false}.
+ * </p>
+ * <p>
+ * The numbers are found from the board's move log rather than by scanning the board, and the working state of a
+ * search only covers the squares it touches, so the work and memory needed for a hint follow the revealed squares
+ * rather than the size of the board. The working state is reused by the next search on the same thread, unless
+ * it grew beyond {@link #MAX_RETAINED_SQUARES} squares, so one huge game never pins memory on every thread.
+ * </p>
+ */
+public class AnytimeHintServiceImpl implements HintService {
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+    private static final int MAX_REFINEMENT_ROUNDS = 100;
+    private static final double CONVERGED = 1e-4;
+    private static final int MAX_RETAINED_SQUARES = 1 << 16;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * @return the suggested square, or {@code null} if every hidden square is a mine
+     */
+    @Override
+    public HintDTO getHint(Board board, long budget, TimeUnit unit) {
+        return new Search(board, System.nanoTime() + unit.toNanos(budget), scratch.get()).run();
+    }
+
+    /**
+     * Working state reused by the searches of one thread. The marks and frontier slots of the touched squares live in
+     * an open-addressing table keyed by square index; entries stamped with an earlier generation count as empty, so
+     * starting a search never clears the table.
+     */
+    private static final class Scratch {
+        private static final int INITIAL_CAPACITY = 64;
+        private static final int MARK_BITS = 2;
+
+        private int[] keys;
+        private int[] values;
+        private int[] stamps;
+        private int size;
+        private int generation;
+        private double[] probability;
+        private int[] frontierSquares;
+        private int[] constraints;
+
+        private Scratch() {
+            allocate();
+        }
+
+        private void allocate() {
+            keys = new int[INITIAL_CAPACITY];
+            values = new int[INITIAL_CAPACITY];
+            stamps = new int[INITIAL_CAPACITY];
+            probability = new double[16];
+            frontierSquares = new int[16];
+            constraints = new int[16];
+            generation = 0;
+        }
+
+        /**
+         * Starts a search, dropping storage a previous search grew beyond the retained limit.
+         */
+        private void begin() {
+            if (keys.length > 2 * MAX_RETAINED_SQUARES || constraints.length > MAX_RETAINED_SQUARES
+                    || frontierSquares.length > MAX_RETAINED_SQUARES) {
+                allocate();
+            }
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                generation = 0;
+            }
+            generation++;
+            size = 0;
+        }
+
+        private int marks(int cell) {
+            int index = find(cell);
+            return stamps[index] == generation ? values[index] & ((1 << MARK_BITS) - 1) : 0;
+        }
+
+        private int frontierSlot(int cell) {
+            return values[find(cell)] >>> MARK_BITS;
+        }
+
+        private void put(int cell, int marks, int frontierSlot) {
+            int index = find(cell);
+            if (stamps[index] != generation) {
+                if (2 * (size + 1) > keys.length) {
+                    grow();
+                    index = find(cell);
+                }
+                stamps[index] = generation;
+                keys[index] = cell;
+                size++;
+            }
+            values[index] = frontierSlot << MARK_BITS | marks;
+        }
+
+        /**
+         * The slot holding the square in this generation, or the empty slot where it would go.
+         */
+        private int find(int cell) {
+            int mask = keys.length - 1;
+            int hash = cell * 0x9e3779b9;
+            int index = (hash ^ hash >>> 16) & mask;
+            while (stamps[index] == generation && keys[index] != cell) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            int[] oldStamps = stamps;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            stamps = new int[oldKeys.length * 2];
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldStamps[k] == generation) {
+                    int index = find(oldKeys[k]);
+                    stamps[index] = generation;
+                    keys[index] = oldKeys[k];
+                    values[index] = oldValues[k];
+                }
+            }
+        }
+    }
+
+    private static final class Search {
+        private static final int MINE = 1;
+        private static final int FRONTIER = 2;
+        private static final int NOT_SEARCHED = -2;
+
+        private final Board board;
+        private final Square[][] squares;
+        private final int columns;
+        private final int squareCount;
+        private final long deadline;
+        private final Scratch scratch;
+        private final int[] rowBuffer = new int[Topology.MAX_NEIGHBOURS];
+        private final int[] columnBuffer = new int[Topology.MAX_NEIGHBOURS];
+
+        private int constraintCount;
+        private int frontierCount;
+        private int hiddenSquares;
+        private int knownMines;
+        private int squareAwayFromNumbers = NOT_SEARCHED;
+
+        private Search(Board board, long deadline, Scratch scratch) {
+            this.board = board;
+            this.squares = board.getSquares();
+            this.columns = board.getColumns();
+            this.squareCount = board.getRows() * columns;
+            this.deadline = deadline;
+            this.scratch = scratch;
+            scratch.begin();
+        }
+
+        private HintDTO run() {
+            hiddenSquares = squareCount - board.getNumberOfNonMineSquaresRevealed();
+            if (hiddenSquares <= board.getNumMines()) {
+                return null;
+            }
+            if (!collectConstraints()) {
+                return guess();
+            }
+            HintDTO safeSquare = findSafeSquare();
+            if (safeSquare != null) {
+                return safeSquare;
+            }
+            return estimateProbabilities();
+        }
+
+        /**
+         * Lists the revealed squares that still have hidden neighbours. The revealed squares are read from the
+         * board's move log when it accounts for all of them, and found by scanning the board otherwise.
+         *
+         * @return {@code false} if the deadline passed before the list was complete
+         */
+        private boolean collectConstraints() {
+            int loggedSquares = board.getChangedSquareCount();
+            if (loggedSquares - (board.isMineHit() ? 1 : 0) == board.getNumberOfNonMineSquaresRevealed()) {
+                for (int position = 0; position < loggedSquares; position++) {
+                    if (position % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                        return false;
+                    }
+                    int cell = board.getChangedSquare(position);
+                    if (cell >= 0) {
+                        addConstraintIfOpen(cell);
+                    }
+                }
+            } else {
+                for (int cell = 0; cell < squareCount; cell++) {
+                    if (cell % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                        return false;
+                    }
+                    if (square(cell).isRevealed()) {
+                        addConstraintIfOpen(cell);
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void addConstraintIfOpen(int cell) {
+            if (countHiddenNeighbours(cell) == 0) {
+                return;
+            }
+            if (constraintCount == scratch.constraints.length) {
+                scratch.constraints = Arrays.copyOf(scratch.constraints, constraintCount * 2);
+            }
+            scratch.constraints[constraintCount++] = cell;
+        }
+
+        private HintDTO findSafeSquare() {
+            int[] constraints = scratch.constraints;
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int k = 0; k < constraintCount; k++) {
+                    if (k % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                        return null;
+                    }
+                    int cell = constraints[k];
+                    int hidden = countHiddenNeighbours(cell);
+                    if (hidden == 0) {
+                        continue;
+                    }
+                    int missingMines = square(cell).getAdjacentMines() - countKnownMines(cell);
+                    if (missingMines == 0) {
+                        return hint(firstHiddenNeighbour(cell), 0, true, true);
+                    }
+                    if (missingMines == hidden) {
+                        markHiddenNeighboursAsMines(cell);
+                        changed = true;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Any hidden square, with the mine density of the hidden squares, for when no stage could finish.
+         */
+        private HintDTO guess() {
+            return hint(anyHiddenSquare(), density(board.getNumMines() - knownMines, hiddenSquares - knownMines),
+                    false, false);
+        }
+
+        private HintDTO estimateProbabilities() {
+            HintDTO best = guess();
+            int[] constraints = scratch.constraints;
+            for (int k = 0; k < constraintCount; k++) {
+                if (k % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                    return best;
+                }
+                int cell = constraints[k];
+                int neighbours = neighbours(cell);
+                int hidden = countHiddenNeighbours(cell);
+                double local = density(square(cell).getAdjacentMines() - countKnownMines(cell), hidden);
+                for (int n = 0; n < neighbours; n++) {
+                    int neighbour = rowBuffer[n] * columns + columnBuffer[n];
+                    if (!isHidden(neighbour)) {
+                        continue;
+                    }
+                    if ((marks(neighbour) & FRONTIER) == 0) {
+                        addToFrontier(neighbour);
+                    }
+                    int slot = scratch.frontierSlot(neighbour);
+                    scratch.probability[slot] = Math.max(scratch.probability[slot], local);
+                }
+            }
+            best = pickBest(best, false);
+
+            for (int round = 0; round < MAX_REFINEMENT_ROUNDS; round++) {
+                double largestChange = 0;
+                for (int k = 0; k < constraintCount; k++) {
+                    if (k % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                        return best;
+                    }
+                    largestChange = Math.max(largestChange, rescale(constraints[k]));
+                }
+                boolean converged = largestChange < CONVERGED;
+                best = pickBest(best, converged);
+                if (converged) {
+                    break;
+                }
+            }
+            return best;
+        }
+
+        private void addToFrontier(int cell) {
+            if (frontierCount == scratch.frontierSquares.length) {
+                scratch.frontierSquares = Arrays.copyOf(scratch.frontierSquares, frontierCount * 2);
+                scratch.probability = Arrays.copyOf(scratch.probability, frontierCount * 2);
+            }
+            scratch.put(cell, marks(cell) | FRONTIER, frontierCount);
+            scratch.frontierSquares[frontierCount] = cell;
+            scratch.probability[frontierCount++] = 0;
+        }
+
+        /**
+         * Scales the probabilities of the hidden neighbours of a number so that they add up to its missing mines.
+         *
+         * @return the largest change made to a single probability
+         */
+        private double rescale(int cell) {
+            double[] probability = scratch.probability;
+            int neighbours = neighbours(cell);
+            int missingMines = square(cell).getAdjacentMines() - countKnownMines(cell);
+            double expectedMines = 0;
+            for (int n = 0; n < neighbours; n++) {
+                int neighbour = rowBuffer[n] * columns + columnBuffer[n];
+                if (isHidden(neighbour)) {
+                    expectedMines += probability[scratch.frontierSlot(neighbour)];
+                }
+            }
+            if (expectedMines == 0) {
+                return 0;
+            }
+            double factor = missingMines / expectedMines;
+            double largestChange = 0;
+            for (int n = 0; n < neighbours; n++) {
+                int neighbour = rowBuffer[n] * columns + columnBuffer[n];
+                if (isHidden(neighbour)) {
+                    int slot = scratch.frontierSlot(neighbour);
+                    double rescaled = Math.min(1, probability[slot] * factor);
+                    largestChange = Math.max(largestChange, Math.abs(rescaled - probability[slot]));
+                    probability[slot] = rescaled;
+                }
+            }
+            return largestChange;
+        }
+
+        /**
+         * Picks the hidden square least likely to be a mine. Squares away from the numbers share the probability
+         * left over once the mines expected next to the numbers are taken out.
+         *
+         * @param previous the answer to keep if no square can be picked
+         */
+        private HintDTO pickBest(HintDTO previous, boolean complete) {
+            int bestSquare = -1;
+            double bestProbability = 2;
+            double expectedFrontierMines = 0;
+            for (int k = 0; k < frontierCount; k++) {
+                double probability = scratch.probability[k];
+                expectedFrontierMines += probability;
+                if (probability < bestProbability) {
+                    bestProbability = probability;
+                    bestSquare = scratch.frontierSquares[k];
+                }
+            }
+            int otherSquares = hiddenSquares - knownMines - frontierCount;
+            if (otherSquares > 0) {
+                double otherProbability = density(board.getNumMines() - knownMines - expectedFrontierMines, otherSquares);
+                if (otherProbability < bestProbability) {
+                    int awaySquare = squareAwayFromNumbers();
+                    if (awaySquare >= 0) {
+                        bestProbability = otherProbability;
+                        bestSquare = awaySquare;
+                    }
+                }
+            }
+            return bestSquare < 0 ? previous : hint(bestSquare, bestProbability, false, complete);
+        }
+
+        /**
+         * The first hidden square, from the top of the board, not known to be a mine. Once the deadline has passed
+         * the scan stops at the first number with such a square next to it instead.
+         */
+        private int anyHiddenSquare() {
+            for (int cell = 0; cell < squareCount; cell++) {
+                if (isHidden(cell)) {
+                    return cell;
+                }
+                if (cell % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                    for (int k = 0; k < constraintCount; k++) {
+                        int neighbour = firstHiddenNeighbour(scratch.constraints[k]);
+                        if (neighbour >= 0) {
+                            return neighbour;
+                        }
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * The first hidden square, from the top of the board, that is not next to a number, found once per search.
+         *
+         * @return the square, or {@code -1} if there is none or the deadline passed before one was found
+         */
+        private int squareAwayFromNumbers() {
+            if (squareAwayFromNumbers != NOT_SEARCHED) {
+                return squareAwayFromNumbers;
+            }
+            squareAwayFromNumbers = -1;
+            for (int cell = 0; cell < squareCount; cell++) {
+                if (isHidden(cell) && (marks(cell) & FRONTIER) == 0) {
+                    squareAwayFromNumbers = cell;
+                    break;
+                }
+                if (cell % DEADLINE_CHECK_INTERVAL == 0 && isExpired()) {
+                    break;
+                }
+            }
+            return squareAwayFromNumbers;
+        }
+
+        private void markHiddenNeighboursAsMines(int cell) {
+            int neighbours = neighbours(cell);
+            for (int n = 0; n < neighbours; n++) {
+                int neighbour = rowBuffer[n] * columns + columnBuffer[n];
+                if (isHidden(neighbour)) {
+                    scratch.put(neighbour, MINE, 0);
+                    knownMines++;
+                }
+            }
+        }
+
+        private int countHiddenNeighbours(int cell) {
+            int neighbours = neighbours(cell);
+            int count = 0;
+            for (int n = 0; n < neighbours; n++) {
+                if (isHidden(rowBuffer[n] * columns + columnBuffer[n])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int countKnownMines(int cell) {
+            int neighbours = neighbours(cell);
+            int count = 0;
+            for (int n = 0; n < neighbours; n++) {
+                if ((marks(rowBuffer[n] * columns + columnBuffer[n]) & MINE) != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int firstHiddenNeighbour(int cell) {
+            int neighbours = neighbours(cell);
+            for (int n = 0; n < neighbours; n++) {
+                int neighbour = rowBuffer[n] * columns + columnBuffer[n];
+                if (isHidden(neighbour)) {
+                    return neighbour;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Tells whether a square is neither revealed nor known to be a mine.
+         */
+        private boolean isHidden(int cell) {
+            return !square(cell).isRevealed() && (marks(cell) & MINE) == 0;
+        }
+
+        private int marks(int cell) {
+            return scratch.marks(cell);
+        }
+
+        private int neighbours(int cell) {
+            return board.getNeighbours(cell / columns, cell % columns, rowBuffer, columnBuffer);
+        }
+
+        private Square square(int cell) {
+            return squares[cell / columns][cell % columns];
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - deadline >= 0;
+        }
+
+        private HintDTO hint(int cell, double mineProbability, boolean safe, boolean complete) {
+            return HintDTO.builder()
+                    .row(cell / columns)
+                    .column(cell % columns)
+                    .mineProbability(mineProbability)
+                    .safe(safe)
+                    .complete(complete)
+                    .build();
+        }
+
+        private static double density(double mines, int squares) {
+            return squares <= 0 ? 1 : Math.max(0, Math.min(1, mines / squares));
+        }
+    }
+}
@@ -16,57 +16,104 @@
 
 package com.game.minesweeper.service.impl;
 
+import com.game.minesweeper.analysis.BoardAnalyzer;
 import com.game.minesweeper.constants.Constants;
 import com.game.minesweeper.converter.NumberConverter;
 import com.game.minesweeper.dto.BoardInfoDTO;
+import com.game.minesweeper.dto.GameResultDTO;
+import com.game.minesweeper.dto.HintDTO;
+import com.game.minesweeper.dto.RankedResultDTO;
 import com.game.minesweeper.entity.Board;
 import com.game.minesweeper.service.BoardService;
 import com.game.minesweeper.service.GameService;
+import com.game.minesweeper.service.HintService;
+import com.game.minesweeper.service.LeaderboardService;
 import com.game.minesweeper.validation.InputValidator;
 
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 
+import static com.game.minesweeper.constants.Constants.HINT_BUDGET_MILLIS;
+import static com.game.minesweeper.constants.Constants.LEADERBOARD_RESULTS_SHOWN;
+import static com.game.minesweeper.constants.Constants.UPPERCASE_HINT;
+import static com.game.minesweeper.constants.Constants.UPPERCASE_REDO;
+import static com.game.minesweeper.constants.Constants.UPPERCASE_UNDO;
 import static com.game.minesweeper.constants.Constants.UPPERCASE_YES;
 
 
 public class CLIGameServiceImpl implements GameService {
 
     private BoardService boardService;
+    private LeaderboardService leaderboardService;
+    private HintService hintService;
+    private final BoardAnalyzer boardAnalyzer = new BoardAnalyzer();
 
-    public CLIGameServiceImpl(BoardService boardService) {
+    public CLIGameServiceImpl(BoardService boardService, LeaderboardService leaderboardService, HintService hintService) {
         this.boardService = boardService;
+        this.leaderboardService = leaderboardService;
+        this.hintService = hintService;
     }
 
     /**
      * This method is responsible for starting and managing the game of Minesweeper.
      * The game continues as long as the player chooses to play again after each game. This is controlled by the `continuePlaying` boolean.*
+     * When a mine is hit, the player is offered to undo the losing move and carry on instead.
      * Once the game is over (either the user has won or lost), it calls the `endGame` method to display the game over message.
      * Finally, the player is asked if they want to play again. If they choose to do so, a new game starts. Otherwise, the method ends, and the game is over.
+     * Finished boards are handed back to the board service so the next game of the same size can reuse them.
+     * The leaderboard is flushed once the player stops playing.
      */
     @Override
     public void startGame() {
         boolean continuePlaying = true;
+        Scanner scanner = new Scanner(System.in);
         while (continuePlaying) {
             System.out.println("Welcome to Minesweeper!\n");
-            Scanner scanner = new Scanner(System.in);
             BoardInfoDTO boardInfoDTO = boardService.buildBoardInfoDTO(scanner);
             Board board = boardService.buildBoard(boardInfoDTO);
+            board.setStartTimeMillis(System.currentTimeMillis());
+            playUntilGameOver(scanner, boardInfoDTO, board);
+            endGame(board);
+            boardService.releaseBoard(board);
+            continuePlaying = askToPlayAgain(scanner);
+        }
+        leaderboardService.flush();
+    }
+
+    /**
+     * Plays moves until the game is won or lost. When a mine is hit, the player may undo that move and keep playing.
+     */
+    private void playUntilGameOver(Scanner scanner, BoardInfoDTO boardInfoDTO, Board board) {
+        while (true) {
             while (!board.isGameOver()) {
                 boardService.printBoard(board);
-                String squareAddressInput = getValidSquareAddressInput(scanner, boardInfoDTO);
+                String squareAddressInput = getValidSquareAddressInput(scanner, boardInfoDTO, board);
                 processUserInput(squareAddressInput, board);
             }
-            endGame(board);
-            continuePlaying = askToPlayAgain(scanner);
+            if (!board.isGameLost() || !askToUndoLosingMove(scanner)) {
+                return;
+            }
+            board.undoMove();
         }
     }
 
+    private boolean askToUndoLosingMove(Scanner scanner) {
+        System.out.println("Boom! Would you like to undo that move? Games with undone moves are not ranked. (yes/no)");
+        return scanner.next().equalsIgnoreCase(UPPERCASE_YES);
+    }
+
     private boolean askToPlayAgain(Scanner scanner) {
         System.out.println("Would you like to play again? (yes/no)");
         String userInput = scanner.next();
         return userInput.equalsIgnoreCase(UPPERCASE_YES);
     }
 
+    /**
+     * Prints the game over message and records the result on the leaderboard.
+     * After a win, the best results for the same difficulty are printed as well.
+     * Games in which a move was undone are not recorded.
+     */
     @Override
     public void endGame(Board board) {
         if (board.isGameLost()) {
@@ -75,13 +122,62 @@ public class CLIGameServiceImpl implements GameService {
         if (board.isGameWon()) {
             System.out.println("Congrats! You swept all mines! Game over.\n");
         }
+        if (board.isUndoUsed()) {
+            System.out.println("Games with undone moves are not ranked.\n");
+            return;
+        }
+        GameResultDTO result = GameResultDTO.builder()
+                .rows(board.getRows())
+                .columns(board.getColumns())
+                .numberOfMines(board.getNumMines())
+                .topologyType(board.getTopologyType())
+                .seed(board.getSeed())
+                .won(board.isGameWon() && !board.isGameLost())
+                .timeMillis(System.currentTimeMillis() - board.getStartTimeMillis())
+                .moves(board.getNumberOfMoves())
+                .threeBV(boardAnalyzer.computeThreeBV(board))
+                .build();
+        leaderboardService.recordResult(result);
+        if (result.isWon()) {
+            printTopResults(result.getDifficulty());
+        }
+    }
+
+    private void printTopResults(String difficulty) {
+        System.out.println("Best times for " + difficulty + ":");
+        List<RankedResultDTO> topResults = leaderboardService.getTopResults(difficulty);
+        for (int i = 0; i < Math.min(LEADERBOARD_RESULTS_SHOWN, topResults.size()); i++) {
+            RankedResultDTO topResult = topResults.get(i);
+            System.out.println(String.format("%d. %.1f s, %d moves, 3BV %d (%.2f 3BV/s)", i + 1,
+                    topResult.getTimeMillis() / 1000.0, topResult.getMoves(), topResult.getThreeBV(),
+                    topResult.getThreeBVPerSecond()));
+        }
+        System.out.println();
     }
 
-    private String getValidSquareAddressInput(Scanner scanner, BoardInfoDTO boardInfoDTO) {
+    private String getValidSquareAddressInput(Scanner scanner, BoardInfoDTO boardInfoDTO, Board board) {
         String userInput;
         while (true) {
-            System.out.println("Please input new square to reveal! (e.g. A1):");
+            System.out.println("Please input new square to reveal! (e.g. A1, 'hint' for a suggestion, 'undo' or 'redo'):");
             userInput = scanner.next();
+            if (userInput.equalsIgnoreCase(UPPERCASE_HINT)) {
+                printHint(board);
+                continue;
+            }
+            if (userInput.equalsIgnoreCase(UPPERCASE_UNDO)) {
+                if (!board.undoMove()) {
+                    System.out.println("There is nothing to undo.\n");
+                }
+                boardService.printBoard(board);
+                continue;
+            }
+            if (userInput.equalsIgnoreCase(UPPERCASE_REDO)) {
+                if (!board.redoMove()) {
+                    System.out.println("There is nothing to redo.\n");
+                }
+                boardService.printBoard(board);
+                continue;
+            }
             if (InputValidator.isValidSquareAddress(userInput, boardInfoDTO)) {
                 break;
             }
@@ -89,6 +185,20 @@ public class CLIGameServiceImpl implements GameService {
         return userInput;
     }
 
+    private void printHint(Board board) {
+        HintDTO hint = hintService.getHint(board, HINT_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+        if (hint == null) {
+            System.out.println("There is nothing left to reveal.\n");
+            return;
+        }
+        String address = String.valueOf(NumberConverter.convertIntToChar(hint.getRow())) + (hint.getColumn() + 1);
+        if (hint.isSafe()) {
+            System.out.println(String.format("Hint: %s is safe.\n", address));
+        } else {
+            System.out.println(String.format("Hint: %s has a %.0f%% chance of being a mine.\n", address, hint.getMineProbability() * 100));
+        }
+    }
+
     /**
      * This method processes the user's input during the game.
      *
@@ -108,6 +218,7 @@ public class CLIGameServiceImpl implements GameService {
     public void processUserInput(String string, Board board) {
         int rowIndex = NumberConverter.convertCharToIntIgnoreCase(string.charAt(Constants.ROW_INDEX));
         int columnIndex = Integer.parseInt(String.valueOf(string.charAt(Constants.COLUMN_INDEX))) - 1;
+        board.setNumberOfMoves(board.getNumberOfMoves() + 1);
         board.processMine(rowIndex, columnIndex);
         if (board.isMineHit()) {
             return;
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.service.impl;
+
+import com.game.minesweeper.dto.GameResultDTO;
+import com.game.minesweeper.dto.RankedResultDTO;
+import com.game.minesweeper.service.LeaderboardService;
+import com.game.minesweeper.topology.TopologyType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the best won games of every difficulty and persists them to a local file.
+ * <p>
+ * Each difficulty keeps its best {@code capacity} results in a concurrent skip list ordered by time, then moves,
+ * then arrival, so many sessions can record results at once without a shared lock. The best
+ * {@link #TOP_RESULTS} are also published as an immutable list, which readers get with a single volatile read;
+ * it is only rebuilt when a new result makes it into that list.
+ * </p>
+ * <p>
+ * Results are converted to immutable {@link RankedResultDTO}s when they are recorded, so callers can change their
+ * {@link GameResultDTO}s afterwards without breaking the ranking order, and readers share the published values.
+ * </p>
+ * <p>
+ * The file is rewritten periodically, and on {@link #flush()}, with only the results that are still ranked,
+ * so it never grows beyond {@code capacity} lines per difficulty. It is written to a temporary file first and
+ * then moved into place, so a crash mid-write leaves the previous version intact.
+ * </p>
+ */
+public class LeaderboardServiceImpl implements LeaderboardService {
+    public static final int TOP_RESULTS = 100;
+    private static final int DEFAULT_CAPACITY = 1000;
+    private static final long DEFAULT_FLUSH_INTERVAL_SECONDS = 30;
+    private static final String SEPARATOR = "\t";
+
+    private static final Comparator<RankedResult> RANK_ORDER = Comparator
+            .comparingLong((RankedResult ranked) -> ranked.result.getTimeMillis())
+            .thenComparingInt(ranked -> ranked.result.getMoves())
+            .thenComparingLong(ranked -> ranked.sequence);
+
+    private final Path file;
+    private final int capacity;
+    private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public LeaderboardServiceImpl(Path file) {
+        this(file, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL_SECONDS);
+    }
+
+    /**
+     * @param file the file results are loaded from and flushed to
+     * @param capacity the number of results kept per difficulty, at least {@link #TOP_RESULTS}
+     * @param flushIntervalSeconds the delay between background flushes, or {@code 0} to only flush on request
+     */
+    public LeaderboardServiceImpl(Path file, int capacity, long flushIntervalSeconds) {
+        this.file = file;
+        this.capacity = Math.max(capacity, TOP_RESULTS);
+        load();
+        if (flushIntervalSeconds > 0) {
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "leaderboard-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Records a finished game. Only won games are ranked.
+     */
+    @Override
+    public void recordResult(GameResultDTO result) {
+        if (!result.isWon()) {
+            return;
+        }
+        rankings.computeIfAbsent(result.getDifficulty(), difficulty -> new Ranking(capacity))
+                .add(new RankedResult(RankedResultDTO.of(result), sequence.incrementAndGet()));
+        dirty.set(true);
+    }
+
+    /**
+     * Returns the best results of a difficulty, best first, from the last published snapshot.
+     * The list is immutable and never blocks writers.
+     */
+    @Override
+    public List<RankedResultDTO> getTopResults(String difficulty) {
+        Ranking ranking = rankings.get(difficulty);
+        return ranking == null ? Collections.emptyList() : ranking.top;
+    }
+
+    /**
+     * Writes the ranked results of every difficulty to the file, if anything changed since the last flush.
+     *
+     * @throws UncheckedIOException if the file cannot be written; the changes are kept for the next flush
+     */
+    @Override
+    public synchronized void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                for (Ranking ranking : rankings.values()) {
+                    for (RankedResult ranked : ranking.results) {
+                        writer.write(format(ranked.result));
+                        writer.newLine();
+                    }
+                }
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exception) {
+            dirty.set(true);
+            throw new UncheckedIOException("Could not write leaderboard to " + file, exception);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (UncheckedIOException exception) {
+            System.err.println(exception.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    recordResult(parse(line));
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException exception) {
+                    System.err.println("Skipping unreadable leaderboard entry: " + line);
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not read leaderboard from " + file, exception);
+        }
+        dirty.set(false);
+    }
+
+    private static String format(RankedResultDTO result) {
+        return result.getRows() + SEPARATOR + result.getColumns() + SEPARATOR + result.getNumberOfMines()
+                + SEPARATOR + result.getTopologyType() + SEPARATOR + result.getSeed()
+                + SEPARATOR + result.getTimeMillis() + SEPARATOR + result.getMoves() + SEPARATOR + result.getThreeBV();
+    }
+
+    private static GameResultDTO parse(String line) {
+        String[] fields = line.split(SEPARATOR);
+        return GameResultDTO.builder()
+                .rows(Integer.parseInt(fields[0]))
+                .columns(Integer.parseInt(fields[1]))
+                .numberOfMines(Integer.parseInt(fields[2]))
+                .topologyType(TopologyType.valueOf(fields[3]))
+                .seed(Long.parseLong(fields[4]))
+                .won(true)
+                .timeMillis(Long.parseLong(fields[5]))
+                .moves(Integer.parseInt(fields[6]))
+                .threeBV(Integer.parseInt(fields[7]))
+                .build();
+    }
+
+    private static final class RankedResult {
+        private final RankedResultDTO result;
+        private final long sequence;
+
+        private RankedResult(RankedResultDTO result, long sequence) {
+            this.result = result;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class Ranking {
+        private final ConcurrentSkipListSet<RankedResult> results = new ConcurrentSkipListSet<>(RANK_ORDER);
+        private final AtomicInteger size = new AtomicInteger();
+        private final int capacity;
+        private volatile List<RankedResultDTO> top = Collections.emptyList();
+        private volatile RankedResult lastPublished;
+
+        private Ranking(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void add(RankedResult ranked) {
+            results.add(ranked);
+            if (size.incrementAndGet() > capacity && results.pollLast() != null) {
+                size.decrementAndGet();
+            }
+            RankedResult cutoff = lastPublished;
+            if (cutoff == null || RANK_ORDER.compare(ranked, cutoff) < 0) {
+                publish();
+            }
+        }
+
+        /**
+         * Rebuilds the published list from the skip list. Publishers are serialised so a newer list is never
+         * replaced by an older one; readers are not affected.
+         */
+        private synchronized void publish() {
+            List<RankedResultDTO> snapshot = new ArrayList<>(TOP_RESULTS);
+            RankedResult last = null;
+            for (RankedResult ranked : results) {
+                if (snapshot.size() == TOP_RESULTS) {
+                    break;
+                }
+                snapshot.add(ranked.result);
+                last = ranked;
+            }
+            top = Collections.unmodifiableList(snapshot);
+            lastPublished = snapshot.size() == TOP_RESULTS ? last : null;
+        }
+    }
+}
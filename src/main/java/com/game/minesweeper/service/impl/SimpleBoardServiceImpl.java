@@ -21,25 +21,65 @@ import com.game.minesweeper.converter.NumberConverter;
 import com.game.minesweeper.dto.BoardInfoDTO;
 import com.game.minesweeper.entity.Board;
 import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.pool.BoardPool;
+import com.game.minesweeper.pool.BoardPregenerator;
+import com.game.minesweeper.pool.BoardPreset;
 import com.game.minesweeper.service.BoardService;
+import com.game.minesweeper.topology.FloodFill;
+import com.game.minesweeper.topology.TopologyType;
 
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static com.game.minesweeper.constants.Constants.BLANK_SPACE;
 import static com.game.minesweeper.constants.Constants.MAX_MINE_TO_SQUARE_RATIO;
 
 public class SimpleBoardServiceImpl implements BoardService {
 
+    private final BoardPool boardPool;
+    private final BoardPregenerator boardPregenerator;
+
+    public SimpleBoardServiceImpl() {
+        this(new BoardPool());
+    }
+
+    public SimpleBoardServiceImpl(BoardPool boardPool) {
+        this(boardPool, null);
+    }
+
+    public SimpleBoardServiceImpl(BoardPool boardPool, BoardPregenerator boardPregenerator) {
+        this.boardPool = boardPool;
+        this.boardPregenerator = boardPregenerator;
+    }
+
     @Override
     public BoardInfoDTO buildBoardInfoDTO(Scanner scanner) {
         int gridSize = getGridSize(scanner);
         int numberOfMines = getNumberOfMines(scanner, gridSize);
-        return BoardInfoDTO.builder().gridSize(gridSize).numberOfMines(numberOfMines).build();
+        TopologyType topologyType = getTopologyType(scanner);
+        return BoardInfoDTO.builder().gridSize(gridSize).numberOfMines(numberOfMines).topologyType(topologyType).build();
     }
 
+    /**
+     * Takes a pre-generated board when the board info matches a pre-generated preset with a board ready,
+     * and generates one on the calling thread otherwise.
+     */
     @Override
     public Board buildBoard(BoardInfoDTO boardInfoDTO) {
-        return new Board(boardInfoDTO.getGridSize(), boardInfoDTO.getGridSize(), boardInfoDTO.getNumberOfMines());
+        if (boardPregenerator != null) {
+            Board board = boardPregenerator.poll(new BoardPreset(boardInfoDTO.getGridSize(),
+                    boardInfoDTO.getNumberOfMines(), boardInfoDTO.getTopologyType()));
+            if (board != null) {
+                return board;
+            }
+        }
+        return boardPool.acquire(boardInfoDTO.getGridSize(), boardInfoDTO.getGridSize(), boardInfoDTO.getNumberOfMines(),
+                boardInfoDTO.getTopologyType(), ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public void releaseBoard(Board board) {
+        boardPool.release(board);
     }
 
     private int getNumberOfMines(Scanner scanner, int gridSize) {
@@ -84,6 +124,25 @@ public class SimpleBoardServiceImpl implements BoardService {
         return gridSize;
     }
 
+    /**
+     * Reads the board layout by name, case-insensitively. The rectangular layout is used when the input ends
+     * before a layout is given.
+     */
+    private TopologyType getTopologyType(Scanner scanner) {
+        askForTopologyType();
+        while (scanner.hasNext()) {
+            String userInput = scanner.next();
+            for (TopologyType topologyType : TopologyType.values()) {
+                if (topologyType.name().equalsIgnoreCase(userInput)) {
+                    return topologyType;
+                }
+            }
+            System.err.println("That's not a valid layout. Please try again.\n");
+            askForTopologyType();
+        }
+        return TopologyType.RECTANGULAR;
+    }
+
     private void askForGridSize() {
         System.out.println("Enter the size of the grid (e.g. 4 for a 4x4 grid - Max size 9x9 grid): ");
     }
@@ -92,6 +151,10 @@ public class SimpleBoardServiceImpl implements BoardService {
         System.out.println("Enter the number of mines to place on the grid (maximum is 35% of the total squares): ");
     }
 
+    private void askForTopologyType() {
+        System.out.println("Enter the layout of the grid (rectangular, toroidal or hexagonal): ");
+    }
+
     @Override
     public void printBoard(Board board) {
         System.out.println("Here is your mine field:");
@@ -112,6 +175,9 @@ public class SimpleBoardServiceImpl implements BoardService {
         for (int i = 0; i < board.getRows(); i++) {
             StringBuilder rowString = new StringBuilder();
             rowString.append((NumberConverter.convertIntToChar(i)));
+            if (board.getTopologyType() == TopologyType.HEXAGONAL && i % 2 == 1) {
+                rowString.append(BLANK_SPACE);
+            }
             for (int j = 0; j < board.getColumns(); j++) {
                 rowString.append(BLANK_SPACE).append(board.getSquares()[i][j].getPrintValue());
             }
@@ -122,7 +188,9 @@ public class SimpleBoardServiceImpl implements BoardService {
     /**
      * Reveals the square at the specified row and column.
      * If the square is not a mine and has not been revealed yet, it will be revealed.
-     * If the square has no adjacent mines, the method will recursively reveal all adjacent squares.
+     * If the square has no adjacent mines, all adjacent squares are revealed as well, spreading through
+     * every connected square without adjacent mines, through the shared {@link FloodFill}.
+     * Everything revealed is recorded on the board as one move, so it can be undone and redone together.
      *
      * @param row the row index of the square to reveal
      * @param col the column index of the square to reveal
@@ -134,21 +202,23 @@ public class SimpleBoardServiceImpl implements BoardService {
         }
         Square square = board.getSquares()[row][col];
         if (!square.isRevealed() && !square.isMine()) {
-            square.setRevealed(true);
-            board.setNumberOfNonMineSquaresRevealed(board.getNumberOfNonMineSquaresRevealed() + 1);
-            square.setPrintValue(String.valueOf(square.getAdjacentMines()));
-            revealAdjacentSquares(board, row, col, square);
+            board.beginMove();
+            FloodFill.fill(board::getNeighbours, row, col, (squareRow, squareColumn) -> {
+                Square opened = board.getSquares()[squareRow][squareColumn];
+                if (opened.isRevealed() || opened.isMine()) {
+                    return false;
+                }
+                reveal(board, squareRow, squareColumn, opened);
+                return opened.getAdjacentMines() == 0;
+            });
+            board.endMove();
         }
     }
 
-    private void revealAdjacentSquares(Board board, int row, int col, Square square) {
-        if (square.getAdjacentMines() == 0) {
-            for (int x = -1; x <= 1; x++) {
-                for (int y = -1; y <= 1; y++) {
-                    revealSquare(board,row + x, col + y);
-                }
-            }
-        }
+    private void reveal(Board board, int row, int col, Square square) {
+        square.reveal();
+        board.setNumberOfNonMineSquaresRevealed(board.getNumberOfNonMineSquaresRevealed() + 1);
+        board.recordReveal(row, col);
     }
 
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.session;
+
+import com.game.minesweeper.dto.SessionStoreStatsDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.BoardCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Keeps the boards of many concurrent games, holding only the recently played ones as live objects.
+ * <p>
+ * A sweep demotes every board that has not been played for {@code demoteAfterMillis} to its {@link BoardCodec}
+ * encoding, and, when a spill directory is configured, moves encodings idle for {@code spillAfterMillis} to a file
+ * there. {@link #withBoard(String, Function)} re-inflates a demoted board before running the move, so callers never
+ * see the tier a board was in, as long as they only touch the board inside the move they pass. The time spent
+ * re-inflating is reported through {@link #getStats()}.
+ * Each session is locked while it is played or demoted; different sessions never block each other.
+ * </p>
+ */
+public class SessionStore {
+    private final long demoteAfterMillis;
+    private final long spillAfterMillis;
+    private final Path spillDirectory;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong spillFileNumber = new AtomicLong();
+    private final LongAdder rehydrations = new LongAdder();
+    private final LongAdder totalRehydrationNanos = new LongAdder();
+    private final AtomicLong maxRehydrationNanos = new AtomicLong();
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * @param spillAfterMillis    idle time after which an encoded board is written to disk, or 0 to keep every
+     *                            encoding in memory
+     * @param spillDirectory      directory for spilled boards, or {@code null} to keep every encoding in memory
+     * @param sweepIntervalMillis time between background sweeps, or 0 to sweep only when {@link #sweep()} is called
+     */
+    public SessionStore(long demoteAfterMillis, long spillAfterMillis, Path spillDirectory, long sweepIntervalMillis) {
+        this.demoteAfterMillis = demoteAfterMillis;
+        this.spillAfterMillis = spillAfterMillis;
+        this.spillDirectory = spillDirectory;
+        if (sweepIntervalMillis > 0) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "session-store-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    public void put(String sessionId, Board board) {
+        Session previous = sessions.put(sessionId, new Session(board));
+        if (previous != null) {
+            previous.discard();
+        }
+    }
+
+    /**
+     * Runs a move against the session's board, re-inflating the board first if it was demoted.
+     * <p>
+     * The board must not escape the move, neither as its result nor through any other reference. A later sweep
+     * replaces the store's board with its encoding, so changes made through a kept reference would be lost and the
+     * board would stay in memory; the move should return only what it read from the board.
+     * </p>
+     *
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public <T> T withBoard(String sessionId, Function<Board, T> move) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Unknown session " + sessionId);
+        }
+        return session.play(move);
+    }
+
+    /**
+     * @return the session's board, or {@code null} if there is no such session
+     */
+    public Board remove(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        return session == null ? null : session.play(board -> board);
+    }
+
+    /**
+     * Demotes boards that have been idle long enough. Runs on the background sweeper when one is configured.
+     */
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (Session session : sessions.values()) {
+            try {
+                session.demoteIfIdle(now);
+            } catch (UncheckedIOException exception) {
+                System.err.println("Could not spill a game session: " + exception.getMessage());
+            }
+        }
+    }
+
+    public SessionStoreStatsDTO getStats() {
+        int hot = 0;
+        int compressed = 0;
+        int spilled = 0;
+        long compressedBytes = 0;
+        for (Session session : sessions.values()) {
+            synchronized (session) {
+                if (session.board != null) {
+                    hot++;
+                } else if (session.encoded != null) {
+                    compressed++;
+                    compressedBytes += session.encoded.length;
+                } else {
+                    spilled++;
+                }
+            }
+        }
+        return SessionStoreStatsDTO.builder()
+                .hotSessions(hot)
+                .compressedSessions(compressed)
+                .spilledSessions(spilled)
+                .compressedBytes(compressedBytes)
+                .rehydrations(rehydrations.sum())
+                .totalRehydrationNanos(totalRehydrationNanos.sum())
+                .maxRehydrationNanos(maxRehydrationNanos.get())
+                .build();
+    }
+
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private void recordRehydration(long nanos) {
+        rehydrations.increment();
+        totalRehydrationNanos.add(nanos);
+        maxRehydrationNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * One game in exactly one tier: a live board, an encoded board in memory, or an encoded board in a file.
+     */
+    private final class Session {
+        private Board board;
+        private byte[] encoded;
+        private Path spillFile;
+        private long lastPlayedMillis;
+
+        private Session(Board board) {
+            this.board = board;
+            this.lastPlayedMillis = System.currentTimeMillis();
+        }
+
+        private synchronized <T> T play(Function<Board, T> move) {
+            if (board == null) {
+                long start = System.nanoTime();
+                board = BoardCodec.decode(encoded != null ? encoded : readSpillFile());
+                encoded = null;
+                recordRehydration(System.nanoTime() - start);
+            }
+            lastPlayedMillis = System.currentTimeMillis();
+            return move.apply(board);
+        }
+
+        private synchronized void demoteIfIdle(long now) {
+            long idleMillis = now - lastPlayedMillis;
+            if (board != null && idleMillis >= demoteAfterMillis) {
+                encoded = BoardCodec.encode(board);
+                board = null;
+            }
+            if (encoded != null && spillDirectory != null && spillAfterMillis > 0 && idleMillis >= spillAfterMillis) {
+                Path file = spillDirectory.resolve("session-" + spillFileNumber.incrementAndGet() + ".board");
+                try {
+                    Files.write(file, encoded);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                spillFile = file;
+                encoded = null;
+            }
+        }
+
+        private byte[] readSpillFile() {
+            try {
+                byte[] bytes = Files.readAllBytes(spillFile);
+                Files.delete(spillFile);
+                spillFile = null;
+                return bytes;
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private synchronized void discard() {
+            if (spillFile != null) {
+                try {
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException exception) {
+                    System.err.println("Could not delete spilled game session: " + exception.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper.simulation;
+
+import com.game.minesweeper.analysis.BoardAnalyzer;
+import com.game.minesweeper.dto.HintDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.pool.BoardPool;
+import com.game.minesweeper.service.BoardService;
+import com.game.minesweeper.service.HintService;
+import com.game.minesweeper.service.impl.AnytimeHintServiceImpl;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays seeded games without a console, always revealing the square the hint service considers safest.
+ * <p>
+ * Hints are given no deadline, so a seed is always played the same way and a range of seeds always gives the same
+ * statistics, wherever it runs. Boards are reused through a {@link BoardPool} from one game to the next.
+ * A runner is not thread-safe.
+ * </p>
+ */
+public class HeadlessGameRunner {
+    private final BoardPool boardPool = new BoardPool();
+    private final BoardService boardService = new SimpleBoardServiceImpl(boardPool);
+    private final HintService hintService = new AnytimeHintServiceImpl();
+    private final BoardAnalyzer boardAnalyzer = new BoardAnalyzer();
+
+    /**
+     * Plays one game for every seed in {@code [fromSeed, toSeed)}.
+     */
+    public ShardResult play(int rows, int cols, int mines, TopologyType topologyType, long fromSeed, long toSeed) {
+        long wins = 0;
+        long moves = 0;
+        long threeBV = 0;
+        long revealedSquares = 0;
+        for (long seed = fromSeed; seed < toSeed; seed++) {
+            Board board = boardPool.acquire(rows, cols, mines, topologyType, seed);
+            threeBV += boardAnalyzer.computeThreeBV(board);
+            playGame(board);
+            if (board.isGameWon() && !board.isGameLost()) {
+                wins++;
+            }
+            moves += board.getNumberOfMoves();
+            revealedSquares += board.getNumberOfNonMineSquaresRevealed();
+            boardService.releaseBoard(board);
+        }
+        return new ShardResult(toSeed - fromSeed, wins, moves, threeBV, revealedSquares);
+    }
+
+    public void playGame(Board board) {
+        while (!board.isGameOver()) {
+            HintDTO hint = hintService.getHint(board, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            board.setNumberOfMoves(board.getNumberOfMoves() + 1);
+            board.processMine(hint.getRow(), hint.getColumn());
+            if (!board.isMineHit()) {
+                boardService.revealSquare(board, hint.getRow(), hint.getColumn());
+            }
+        }
+    }
+}
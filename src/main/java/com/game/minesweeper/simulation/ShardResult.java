@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregate statistics of a range of simulated games.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShardResult {
+    private long games;
+    private long wins;
+    private long moves;
+    private long threeBV;
+    private long revealedSquares;
+
+    public void add(ShardResult other) {
+        games += other.games;
+        wins += other.wins;
+        moves += other.moves;
+        threeBV += other.threeBV;
+        revealedSquares += other.revealedSquares;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d wins=%d (%.2f%%) moves=%d 3BV=%d revealed=%d",
+                games, wins, getWinRate() * 100, moves, threeBV, revealedSquares);
+    }
+}
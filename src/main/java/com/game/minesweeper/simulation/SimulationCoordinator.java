@@ -0,0 +1,259 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper.simulation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link SimulationJob} across several local worker JVMs.
+ * <p>
+ * The job's seed range is split into shards, which are handed out one at a time to {@link SimulationWorker}
+ * processes over their standard input and output. A shard whose worker exits, answers garbage or runs past the
+ * shard timeout is put back in the queue and the worker is replaced; a shard that fails
+ * {@link #MAX_ATTEMPTS} times fails the job. Results are merged in shard order, so a job always produces the same
+ * statistics whatever the number of workers or the order shards finish in.
+ * </p>
+ */
+public class SimulationCoordinator {
+    public static final int MAX_ATTEMPTS = 3;
+    private static final long POLL_MILLIS = 100;
+
+    private final int workers;
+    private final long shardTimeoutMillis;
+    private final List<String> workerCommand;
+
+    /**
+     * Uses workers started with the same Java binary and class path as this JVM.
+     */
+    public SimulationCoordinator(int workers, long shardTimeoutMillis) {
+        this(workers, shardTimeoutMillis, Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), SimulationWorker.class.getName()));
+    }
+
+    /**
+     * @param workerCommand the command that starts one worker, for example to pass heap or GC options
+     */
+    public SimulationCoordinator(int workers, long shardTimeoutMillis, List<String> workerCommand) {
+        this.workers = workers;
+        this.shardTimeoutMillis = shardTimeoutMillis;
+        this.workerCommand = workerCommand;
+    }
+
+    /**
+     * Runs every shard of the job and returns the merged statistics.
+     *
+     * @throws IllegalStateException if a shard failed {@link #MAX_ATTEMPTS} times
+     */
+    public ShardResult run(SimulationJob job) throws InterruptedException {
+        int shards = job.getShardCount();
+        BlockingQueue<Shard> pending = new LinkedBlockingQueue<>();
+        for (int shard = 0; shard < shards; shard++) {
+            pending.add(new Shard(shard));
+        }
+        ShardResult[] results = new ShardResult[shards];
+        CountDownLatch finished = new CountDownLatch(shards);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<WorkerProcess> running = new CopyOnWriteArrayList<>();
+
+        List<Thread> dispatchers = new ArrayList<>();
+        for (int worker = 0; worker < workers; worker++) {
+            Thread dispatcher = new Thread(() -> dispatch(job, pending, results, finished, failure, running),
+                    "simulation-dispatcher-" + worker);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+            dispatchers.add(dispatcher);
+        }
+
+        try {
+            while (!finished.await(POLL_MILLIS, TimeUnit.MILLISECONDS) && failure.get() == null) {
+                for (WorkerProcess worker : running) {
+                    worker.killIfOverdue();
+                }
+            }
+        } finally {
+            if (finished.getCount() > 0) {
+                stopDispatchers(dispatchers, running);
+            } else {
+                for (Thread dispatcher : dispatchers) {
+                    dispatcher.join();
+                }
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        ShardResult merged = new ShardResult();
+        for (ShardResult result : results) {
+            merged.add(result);
+        }
+        return merged;
+    }
+
+    /**
+     * Stops the dispatchers of a job that failed or was interrupted. A dispatcher waiting for a reply does not
+     * notice interrupts, so every running worker is killed as well, again and again until the dispatchers have
+     * exited in case one was still starting a worker. The wait is not interruptible, so no worker outlives the job.
+     */
+    private static void stopDispatchers(List<Thread> dispatchers, List<WorkerProcess> running) {
+        boolean interrupted = Thread.interrupted();
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.interrupt();
+        }
+        for (Thread dispatcher : dispatchers) {
+            while (dispatcher.isAlive()) {
+                for (WorkerProcess worker : running) {
+                    worker.destroy();
+                }
+                try {
+                    dispatcher.join(POLL_MILLIS);
+                } catch (InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Feeds shards to one worker process at a time, replacing the process whenever a shard fails on it.
+     */
+    private void dispatch(SimulationJob job, BlockingQueue<Shard> pending, ShardResult[] results,
+                          CountDownLatch finished, AtomicReference<RuntimeException> failure,
+                          List<WorkerProcess> running) {
+        WorkerProcess worker = null;
+        try {
+            while (finished.getCount() > 0 && failure.get() == null) {
+                Shard shard = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (shard == null) {
+                    continue;
+                }
+                try {
+                    if (worker == null) {
+                        worker = new WorkerProcess(new ProcessBuilder(workerCommand)
+                                .redirectError(ProcessBuilder.Redirect.INHERIT).start());
+                        running.add(worker);
+                    }
+                    results[shard.index] = worker.run(job, shard.index);
+                    finished.countDown();
+                } catch (IOException | IllegalArgumentException exception) {
+                    if (worker != null) {
+                        running.remove(worker);
+                        worker.destroy();
+                        worker = null;
+                    }
+                    if (++shard.attempts >= MAX_ATTEMPTS) {
+                        failure.compareAndSet(null, new IllegalStateException(
+                                "Shard " + shard.index + " failed " + MAX_ATTEMPTS + " times", exception));
+                    } else if (failure.get() == null && !Thread.currentThread().isInterrupted()) {
+                        System.err.println("Shard " + shard.index + " failed, dispatching it again: " + exception.getMessage());
+                        pending.add(shard);
+                    }
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (worker != null) {
+                running.remove(worker);
+                worker.close();
+            }
+        }
+    }
+
+    private static final class Shard {
+        private final int index;
+        private int attempts;
+
+        private Shard(int index) {
+            this.index = index;
+        }
+    }
+
+    private final class WorkerProcess {
+        private final Process process;
+        private final BufferedWriter commands;
+        private final BufferedReader replies;
+        private volatile long busySince;
+
+        private WorkerProcess(Process process) {
+            this.process = process;
+            this.commands = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            this.replies = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        private ShardResult run(SimulationJob job, int shard) throws IOException {
+            busySince = System.currentTimeMillis();
+            try {
+                commands.write(SimulationProtocol.formatShard(job, shard));
+                commands.newLine();
+                commands.flush();
+                return SimulationProtocol.parseResult(replies.readLine(), shard);
+            } finally {
+                busySince = 0;
+            }
+        }
+
+        /**
+         * Kills the process if its current shard has run past the timeout; the dispatcher then sees the end of
+         * its output and dispatches the shard again.
+         */
+        private void killIfOverdue() {
+            long since = busySince;
+            if (since != 0 && System.currentTimeMillis() - since > shardTimeoutMillis) {
+                process.destroyForcibly();
+            }
+        }
+
+        private void close() {
+            try {
+                commands.write(SimulationProtocol.EXIT);
+                commands.newLine();
+                commands.flush();
+                if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (IOException exception) {
+                process.destroyForcibly();
+            } catch (InterruptedException exception) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void destroy() {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper.simulation;
+
+import com.game.minesweeper.topology.TopologyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A batch of games on one board configuration, played on the consecutive seeds starting at {@code firstSeed}
+ * and split into shards of {@code shardSize} seeds.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SimulationJob {
+    private final int rows;
+    private final int columns;
+    private final int numberOfMines;
+    private final TopologyType topologyType;
+    private final long firstSeed;
+    private final long games;
+    private final long shardSize;
+
+    public int getShardCount() {
+        return (int) ((games + shardSize - 1) / shardSize);
+    }
+
+    public long getShardFirstSeed(int shard) {
+        return firstSeed + shard * shardSize;
+    }
+
+    public long getShardEndSeed(int shard) {
+        return firstSeed + Math.min(games, (shard + 1) * shardSize);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper.simulation;
+
+import com.game.minesweeper.topology.TopologyType;
+
+/**
+ * The line-based messages exchanged between the {@link SimulationCoordinator} and its {@link SimulationWorker}s
+ * over the workers' standard input and output.
+ * <pre>
+ * SHARD  &lt;shard&gt; &lt;rows&gt; &lt;columns&gt; &lt;mines&gt; &lt;topology&gt; &lt;fromSeed&gt; &lt;toSeed&gt;
+ * RESULT &lt;shard&gt; &lt;games&gt; &lt;wins&gt; &lt;moves&gt; &lt;3BV&gt; &lt;revealedSquares&gt;
+ * EXIT
+ * </pre>
+ */
+final class SimulationProtocol {
+    static final String SHARD = "SHARD";
+    static final String RESULT = "RESULT";
+    static final String EXIT = "EXIT";
+    private static final String SEPARATOR = " ";
+
+    private SimulationProtocol() {}
+
+    static String formatShard(SimulationJob job, int shard) {
+        return String.join(SEPARATOR, SHARD, String.valueOf(shard), String.valueOf(job.getRows()),
+                String.valueOf(job.getColumns()), String.valueOf(job.getNumberOfMines()), job.getTopologyType().name(),
+                String.valueOf(job.getShardFirstSeed(shard)), String.valueOf(job.getShardEndSeed(shard)));
+    }
+
+    /**
+     * Runs the shard described by a {@code SHARD} line and formats its {@code RESULT} line.
+     *
+     * @throws IllegalArgumentException if the line is not a valid {@code SHARD} message
+     */
+    static String runShard(HeadlessGameRunner runner, String line) {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length != 8 || !SHARD.equals(fields[0])) {
+            throw new IllegalArgumentException("Not a shard message: " + line);
+        }
+        ShardResult result = runner.play(Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                Integer.parseInt(fields[4]), TopologyType.valueOf(fields[5]),
+                Long.parseLong(fields[6]), Long.parseLong(fields[7]));
+        return String.join(SEPARATOR, RESULT, fields[1], String.valueOf(result.getGames()),
+                String.valueOf(result.getWins()), String.valueOf(result.getMoves()),
+                String.valueOf(result.getThreeBV()), String.valueOf(result.getRevealedSquares()));
+    }
+
+    /**
+     * Parses a {@code RESULT} line for the given shard.
+     *
+     * @throws IllegalArgumentException if the line is not a valid {@code RESULT} message for that shard
+     */
+    static ShardResult parseResult(String line, int shard) {
+        String[] fields = line == null ? new String[0] : line.split(SEPARATOR);
+        if (fields.length != 7 || !RESULT.equals(fields[0]) || Integer.parseInt(fields[1]) != shard) {
+            throw new IllegalArgumentException("Unexpected reply for shard " + shard + ": " + line);
+        }
+        return new ShardResult(Long.parseLong(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4]),
+                Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+    }
+}
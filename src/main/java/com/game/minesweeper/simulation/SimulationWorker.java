@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.game.minesweeper.simulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point of a worker JVM started by the {@link SimulationCoordinator}. Reads {@code SHARD} lines from standard
+ * input, plays them and answers each with a {@code RESULT} line on standard output, until {@code EXIT} or the end
+ * of input. Nothing else may be written to standard output.
+ */
+public class SimulationWorker {
+    public static void main(String[] args) throws IOException {
+        BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        HeadlessGameRunner runner = new HeadlessGameRunner();
+        String line;
+        while ((line = input.readLine()) != null && !line.equals(SimulationProtocol.EXIT)) {
+            System.out.println(SimulationProtocol.runShard(runner, line));
+            System.out.flush();
+        }
+    }
+}
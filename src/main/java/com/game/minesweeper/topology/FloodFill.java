@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.topology;
+
+import java.util.Arrays;
+
+/**
+ * Opens the connected area around a square, following neighbours as a {@link Topology} reports them.
+ * <p>
+ * The fill uses an explicit stack instead of recursion, so large openings cannot overflow the call stack. Squares
+ * are opened as they are pushed, which keeps every square on the stack at most once. What opening a square means
+ * is left to the caller, so every kind of board shares the same fill.
+ * </p>
+ */
+public final class FloodFill {
+
+    /**
+     * Looks up neighbours the way {@link Topology#neighbours(int, int, int[], int[])} does.
+     */
+    @FunctionalInterface
+    public interface NeighbourLookup {
+        int neighbours(int row, int col, int[] rowBuffer, int[] columnBuffer);
+    }
+
+    /**
+     * Opens one square for the fill.
+     */
+    @FunctionalInterface
+    public interface SquareOpener {
+        /**
+         * @return {@code true} if the square was opened and has no adjacent mines, so the fill continues from it;
+         * {@code false} if it was not opened or borders a mine
+         */
+        boolean open(int row, int col);
+    }
+
+    private FloodFill() {}
+
+    /**
+     * Opens the square at the given row and column and, if it has no adjacent mines, every square reachable from
+     * it through squares without adjacent mines.
+     */
+    public static void fill(NeighbourLookup neighbourLookup, int row, int col, SquareOpener opener) {
+        if (!opener.open(row, col)) {
+            return;
+        }
+        int[] rowBuffer = new int[Topology.MAX_NEIGHBOURS];
+        int[] columnBuffer = new int[Topology.MAX_NEIGHBOURS];
+        int[] rowStack = new int[16];
+        int[] columnStack = new int[16];
+        int size = 0;
+        rowStack[size] = row;
+        columnStack[size++] = col;
+        while (size > 0) {
+            size--;
+            int neighbours = neighbourLookup.neighbours(rowStack[size], columnStack[size], rowBuffer, columnBuffer);
+            for (int k = 0; k < neighbours; k++) {
+                if (opener.open(rowBuffer[k], columnBuffer[k])) {
+                    if (size == rowStack.length) {
+                        rowStack = Arrays.copyOf(rowStack, size * 2);
+                        columnStack = Arrays.copyOf(columnStack, size * 2);
+                    }
+                    rowStack[size] = rowBuffer[k];
+                    columnStack[size++] = columnBuffer[k];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.topology;
+
+import lombok.Getter;
+
+/**
+ * Neighbour lookup for a grid of a given size and {@link TopologyType}.
+ * <p>
+ * Interior squares (not on the outer ring of the grid) always have every neighbour inside the grid, so callers can
+ * add the offsets from {@link #getRowOffsets(int)} and {@link #getColumnOffsets(int)} without any bounds checks.
+ * The neighbours of the squares on the outer ring are precomputed once into flat tables, so wrap-around and
+ * clipping at the edges cost nothing when the board is played.
+ * </p>
+ */
+public final class Topology {
+    public static final int MAX_NEIGHBOURS = 8;
+
+    @Getter
+    private final TopologyType type;
+    @Getter
+    private final int rows;
+    @Getter
+    private final int columns;
+
+    private final int[] borderStart;
+    private final int[] borderRows;
+    private final int[] borderColumns;
+
+    public Topology(TopologyType type, int rows, int columns) {
+        this.type = type;
+        this.rows = rows;
+        this.columns = columns;
+
+        int borderSquares = rows == 1 ? columns : 2 * columns + 2 * (rows - 2);
+        int[] rowBuffer = new int[MAX_NEIGHBOURS];
+        int[] columnBuffer = new int[MAX_NEIGHBOURS];
+
+        borderStart = new int[borderSquares + 1];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j = nextBorderColumn(i, j)) {
+                borderStart[borderIndex(i, j) + 1] = type.collectNeighbours(i, j, rows, columns, rowBuffer, columnBuffer);
+            }
+        }
+        for (int k = 0; k < borderSquares; k++) {
+            borderStart[k + 1] += borderStart[k];
+        }
+
+        borderRows = new int[borderStart[borderSquares]];
+        borderColumns = new int[borderStart[borderSquares]];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j = nextBorderColumn(i, j)) {
+                int start = borderStart[borderIndex(i, j)];
+                int count = type.collectNeighbours(i, j, rows, columns, rowBuffer, columnBuffer);
+                System.arraycopy(rowBuffer, 0, borderRows, start, count);
+                System.arraycopy(columnBuffer, 0, borderColumns, start, count);
+            }
+        }
+    }
+
+    public boolean isInterior(int row, int col) {
+        return row > 0 && row < rows - 1 && col > 0 && col < columns - 1;
+    }
+
+    /**
+     * Row offsets of the neighbours of an interior square in the given row, paired index by index with
+     * {@link #getColumnOffsets(int)}.
+     */
+    public int[] getRowOffsets(int row) {
+        return type.rowOffsets(row);
+    }
+
+    public int[] getColumnOffsets(int row) {
+        return type.columnOffsets(row);
+    }
+
+    /**
+     * Writes the neighbours of any square into the given buffers, which must hold at least {@link #MAX_NEIGHBOURS}
+     * entries.
+     *
+     * @return the number of neighbours written
+     */
+    public int neighbours(int row, int col, int[] rowBuffer, int[] columnBuffer) {
+        if (isInterior(row, col)) {
+            int[] rowOffsets = type.rowOffsets(row);
+            int[] columnOffsets = type.columnOffsets(row);
+            for (int k = 0; k < rowOffsets.length; k++) {
+                rowBuffer[k] = row + rowOffsets[k];
+                columnBuffer[k] = col + columnOffsets[k];
+            }
+            return rowOffsets.length;
+        }
+        int index = borderIndex(row, col);
+        int start = borderStart[index];
+        int count = borderStart[index + 1] - start;
+        System.arraycopy(borderRows, start, rowBuffer, 0, count);
+        System.arraycopy(borderColumns, start, columnBuffer, 0, count);
+        return count;
+    }
+
+    /**
+     * Maps a square on the outer ring to its slot in the border tables: the top row first, then the bottom row,
+     * then the left and right squares of every row in between.
+     */
+    private int borderIndex(int row, int col) {
+        if (row == 0) {
+            return col;
+        }
+        if (row == rows - 1) {
+            return columns + col;
+        }
+        return 2 * columns + 2 * (row - 1) + (col == 0 ? 0 : 1);
+    }
+
+    private int nextBorderColumn(int row, int col) {
+        if (row == 0 || row == rows - 1 || col == columns - 1) {
+            return col + 1;
+        }
+        return columns - 1;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.game.minesweeper.topology;
+
+/**
+ * The supported board layouts.
+ * <p>
+ * Each layout is described by the row and column offsets of the neighbours of a square. Hexagonal boards use
+ * "odd-r" offset coordinates, so the offsets depend on whether the row is even or odd.
+ * A wrapping layout connects the left edge to the right edge and the top edge to the bottom edge.
+ * </p>
+ */
+public enum TopologyType {
+    RECTANGULAR(Offsets.SQUARE_ROWS, Offsets.SQUARE_COLUMNS, Offsets.SQUARE_ROWS, Offsets.SQUARE_COLUMNS, false),
+    TOROIDAL(Offsets.SQUARE_ROWS, Offsets.SQUARE_COLUMNS, Offsets.SQUARE_ROWS, Offsets.SQUARE_COLUMNS, true),
+    HEXAGONAL(Offsets.HEX_ROWS, Offsets.HEX_EVEN_COLUMNS, Offsets.HEX_ROWS, Offsets.HEX_ODD_COLUMNS, false);
+
+    private final int[] evenRowOffsets;
+    private final int[] evenColumnOffsets;
+    private final int[] oddRowOffsets;
+    private final int[] oddColumnOffsets;
+    private final boolean wrapping;
+
+    TopologyType(int[] evenRowOffsets, int[] evenColumnOffsets, int[] oddRowOffsets, int[] oddColumnOffsets, boolean wrapping) {
+        this.evenRowOffsets = evenRowOffsets;
+        this.evenColumnOffsets = evenColumnOffsets;
+        this.oddRowOffsets = oddRowOffsets;
+        this.oddColumnOffsets = oddColumnOffsets;
+        this.wrapping = wrapping;
+    }
+
+    int[] rowOffsets(int row) {
+        return (row & 1) == 0 ? evenRowOffsets : oddRowOffsets;
+    }
+
+    int[] columnOffsets(int row) {
+        return (row & 1) == 0 ? evenColumnOffsets : oddColumnOffsets;
+    }
+
+    /**
+     * Writes the distinct neighbours of the given square into the buffers, applying wrap-around or dropping
+     * squares that fall outside the grid. The square itself is never reported as its own neighbour,
+     * which matters on wrapping grids narrower than three squares.
+     *
+     * @return the number of neighbours written
+     */
+    int collectNeighbours(int row, int col, int rows, int columns, int[] rowBuffer, int[] columnBuffer) {
+        int[] rowOffsets = rowOffsets(row);
+        int[] columnOffsets = columnOffsets(row);
+        int count = 0;
+        for (int k = 0; k < rowOffsets.length; k++) {
+            int neighbourRow = row + rowOffsets[k];
+            int neighbourColumn = col + columnOffsets[k];
+            if (wrapping) {
+                neighbourRow = Math.floorMod(neighbourRow, rows);
+                neighbourColumn = Math.floorMod(neighbourColumn, columns);
+            } else if (neighbourRow < 0 || neighbourRow >= rows || neighbourColumn < 0 || neighbourColumn >= columns) {
+                continue;
+            }
+            if ((neighbourRow == row && neighbourColumn == col)
+                    || contains(rowBuffer, columnBuffer, count, neighbourRow, neighbourColumn)) {
+                continue;
+            }
+            rowBuffer[count] = neighbourRow;
+            columnBuffer[count] = neighbourColumn;
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean contains(int[] rowBuffer, int[] columnBuffer, int count, int row, int col) {
+        for (int k = 0; k < count; k++) {
+            if (rowBuffer[k] == row && columnBuffer[k] == col) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Offsets {
+        private static final int[] SQUARE_ROWS = {-1, -1, -1, 0, 0, 1, 1, 1};
+        private static final int[] SQUARE_COLUMNS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+        private static final int[] HEX_ROWS = {-1, -1, 0, 0, 1, 1};
+        private static final int[] HEX_EVEN_COLUMNS = {-1, 0, -1, 1, -1, 0};
+        private static final int[] HEX_ODD_COLUMNS = {0, 1, -1, 1, 0, 1};
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.dto.HintDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.service.impl.AnytimeHintServiceImpl;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnytimeHintServiceImplTest {
+
+    private final AnytimeHintServiceImpl hintService = new AnytimeHintServiceImpl();
+    private final SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+
+    @Test
+    void testSafeHintsAreNeverMines() {
+        int safeHints = 0;
+        for (long seed = 0; seed < 50; seed++) {
+            Board board = new Board(16, 30, 99, TopologyType.RECTANGULAR, seed);
+            revealFirstOpening(board);
+
+            HintDTO hint = hintService.getHint(board, 1, TimeUnit.SECONDS);
+
+            assertNotNull(hint);
+            Square square = board.getSquares()[hint.getRow()][hint.getColumn()];
+            assertFalse(square.isRevealed());
+            assertTrue(hint.getMineProbability() >= 0 && hint.getMineProbability() <= 1);
+            if (hint.isSafe()) {
+                assertFalse(square.isMine());
+                safeHints++;
+            }
+        }
+        assertTrue(safeHints > 0);
+    }
+
+    @Test
+    void testExpiredBudgetStillAnswers() {
+        Board board = new Board(200, 200, 8000, TopologyType.TOROIDAL, 7L);
+        revealFirstOpening(board);
+
+        HintDTO hint = hintService.getHint(board, 0, TimeUnit.NANOSECONDS);
+
+        assertNotNull(hint);
+        assertFalse(hint.isComplete());
+        assertFalse(board.getSquares()[hint.getRow()][hint.getColumn()].isRevealed());
+    }
+
+    @Test
+    void testExpiredBudgetStopsBeforeReadingRevealedSquares() {
+        CountingBoard board = new CountingBoard(300, 300, 13_500, 9L);
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < 150; i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (!squares[i][j].isMine() && squares[i][j].getAdjacentMines() == 0) {
+                    boardService.revealSquare(board, i, j);
+                }
+            }
+        }
+        int loggedSquares = board.getChangedSquareCount();
+
+        HintDTO hint = hintService.getHint(board, 0, TimeUnit.NANOSECONDS);
+
+        assertFalse(hint.isComplete());
+        assertFalse(squares[hint.getRow()][hint.getColumn()].isRevealed());
+        assertEquals(0, board.changedSquareReads);
+
+        hintService.getHint(board, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        assertEquals(loggedSquares, board.changedSquareReads);
+    }
+
+    @Test
+    void testReusedWorkingStateGivesSameHints() {
+        Board large = new Board(600, 600, 54_000, TopologyType.RECTANGULAR, 4L);
+        Square[][] squares = large.getSquares();
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < large.getColumns(); j++) {
+                if (!squares[i][j].isMine() && squares[i][j].getAdjacentMines() == 0) {
+                    boardService.revealSquare(large, i, j);
+                }
+            }
+        }
+        hintService.getHint(large, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        for (long seed = 0; seed < 20; seed++) {
+            Board board = new Board(16, 30, 99, TopologyType.HEXAGONAL, seed);
+            revealFirstOpening(board);
+
+            HintDTO reused = hintService.getHint(board, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            HintDTO fresh = new AnytimeHintServiceImpl().getHint(board, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+            assertEquals(fresh.getRow(), reused.getRow());
+            assertEquals(fresh.getColumn(), reused.getColumn());
+            assertEquals(fresh.getMineProbability(), reused.getMineProbability());
+        }
+    }
+
+    @Test
+    void testNoHintOnceEverySafeSquareIsRevealed() {
+        Board board = new Board(5, 5, 3, TopologyType.RECTANGULAR, 3L);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                boardService.revealSquare(board, i, j);
+            }
+        }
+
+        assertNull(hintService.getHint(board, 5, TimeUnit.MILLISECONDS));
+    }
+
+    private void revealFirstOpening(Board board) {
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                Square square = board.getSquares()[i][j];
+                if (!square.isMine() && square.getAdjacentMines() == 0) {
+                    boardService.revealSquare(board, i, j);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts how many revealed squares the hint service reads from the move log.
+     */
+    private static final class CountingBoard extends Board {
+        private int changedSquareReads;
+
+        private CountingBoard(int rows, int cols, int mines, long seed) {
+            super(rows, cols, mines, TopologyType.RECTANGULAR, seed);
+        }
+
+        @Override
+        public int getChangedSquare(int position) {
+            changedSquareReads++;
+            return super.getChangedSquare(position);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.analysis.BoardAnalyzer;
+import com.game.minesweeper.dto.BoardDifficultyDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.Topology;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BoardAnalyzerTest {
+
+    private final BoardAnalyzer analyzer = new BoardAnalyzer();
+
+    @Test
+    void testCornerMineIsOneOpening() {
+        Board board = boardWithMines(3, 3, new int[][]{{0, 0}});
+
+        BoardDifficultyDTO difficulty = analyzer.analyze(board);
+
+        assertEquals(1, difficulty.getThreeBV());
+        assertEquals(1, difficulty.getOpenings());
+        assertEquals(0, difficulty.getIsolatedSquares());
+        assertEquals(8, difficulty.getSafeSquares());
+    }
+
+    @Test
+    void testCentreMineLeavesOnlyIsolatedSquares() {
+        Board board = boardWithMines(3, 3, new int[][]{{1, 1}});
+
+        BoardDifficultyDTO difficulty = analyzer.analyze(board);
+
+        assertEquals(8, difficulty.getThreeBV());
+        assertEquals(0, difficulty.getOpenings());
+    }
+
+    @Test
+    void testMineSplitsRowIntoTwoOpenings() {
+        Board board = boardWithMines(1, 5, new int[][]{{0, 2}});
+
+        assertEquals(2, analyzer.computeThreeBV(board));
+    }
+
+    @Test
+    void testThreeBVMatchesClickingThroughTheBoard() {
+        for (TopologyType type : TopologyType.values()) {
+            for (long seed = 0; seed < 20; seed++) {
+                Board board = new Board(16, 30, 99, type, seed);
+                int expected = countClicksToClear(board);
+
+                assertEquals(expected, analyzer.computeThreeBV(board));
+            }
+        }
+    }
+
+    /**
+     * Clears the board the slow way: click every opening first, then every numbered square left over.
+     */
+    private static int countClicksToClear(Board board) {
+        SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+        Square[][] squares = board.getSquares();
+        int clicks = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < board.getRows(); i++) {
+                for (int j = 0; j < board.getColumns(); j++) {
+                    Square square = squares[i][j];
+                    boolean clickNow = pass == 1 || square.getAdjacentMines() == 0;
+                    if (!square.isMine() && !square.isRevealed() && clickNow) {
+                        boardService.revealSquare(board, i, j);
+                        clicks++;
+                    }
+                }
+            }
+        }
+        return clicks;
+    }
+
+    private static Board boardWithMines(int rows, int columns, int[][] mines) {
+        Board board = new Board(rows, columns, 0, TopologyType.RECTANGULAR, 0L);
+        Square[][] squares = board.getSquares();
+        for (int[] mine : mines) {
+            squares[mine[0]][mine[1]].setMine(true);
+        }
+        int[] rowBuffer = new int[Topology.MAX_NEIGHBOURS];
+        int[] columnBuffer = new int[Topology.MAX_NEIGHBOURS];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int count = 0;
+                int neighbours = board.getNeighbours(i, j, rowBuffer, columnBuffer);
+                for (int k = 0; k < neighbours; k++) {
+                    if (squares[rowBuffer[k]][columnBuffer[k]].isMine()) {
+                        count++;
+                    }
+                }
+                squares[i][j].setAdjacentMines(count);
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.BoardLayout;
+import com.game.minesweeper.entity.PlayerBoard;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.pool.BoardLayoutCache;
+import com.game.minesweeper.pool.LayoutKey;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardLayoutTest {
+
+    private static final LayoutKey DAILY = new LayoutKey(16, 30, 99, TopologyType.RECTANGULAR, 20241019L);
+
+    @Test
+    void testCacheSharesLayoutAndEvictsLeastRecentlyUsed() {
+        BoardLayoutCache cache = new BoardLayoutCache(2);
+        BoardLayout daily = cache.get(DAILY);
+
+        assertSame(daily, cache.get(new LayoutKey(16, 30, 99, TopologyType.RECTANGULAR, 20241019L)));
+
+        cache.get(new LayoutKey(9, 9, 10, TopologyType.RECTANGULAR, 1L));
+        cache.get(DAILY);
+        cache.get(new LayoutKey(9, 9, 10, TopologyType.RECTANGULAR, 2L));
+
+        assertEquals(2, cache.size());
+        assertSame(daily, cache.get(DAILY));
+        assertNotSame(cache.get(new LayoutKey(9, 9, 10, TopologyType.RECTANGULAR, 1L)),
+                cache.get(new LayoutKey(9, 9, 10, TopologyType.RECTANGULAR, 2L)));
+    }
+
+    @Test
+    void testPlayerBoardRevealsLikeBoard() {
+        BoardLayout layout = new BoardLayoutCache(1).get(DAILY);
+        Board board = new Board(16, 30, 99, TopologyType.RECTANGULAR, 20241019L);
+        SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+        PlayerBoard first = new PlayerBoard(layout);
+        PlayerBoard second = new PlayerBoard(layout);
+
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j += 7) {
+                if (!layout.isMine(i, j)) {
+                    first.reveal(i, j);
+                    boardService.revealSquare(board, i, j);
+                }
+            }
+        }
+
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                assertEquals(squares[i][j].isMine(), layout.isMine(i, j));
+                assertEquals(squares[i][j].isRevealed(), first.isRevealed(i, j));
+                assertFalse(second.isRevealed(i, j));
+            }
+        }
+        assertEquals(board.getNumberOfNonMineSquaresRevealed(), first.getNumberOfNonMineSquaresRevealed());
+    }
+
+    @Test
+    void testFlaggedSquaresAreNotRevealedAndMineEndsGame() {
+        BoardLayout layout = BoardLayout.generate(9, 9, 10, TopologyType.RECTANGULAR, 5L);
+        PlayerBoard player = new PlayerBoard(layout);
+        int mineRow = -1;
+        int mineColumn = -1;
+        for (int i = 0; i < 9 && mineRow < 0; i++) {
+            for (int j = 0; j < 9; j++) {
+                if (layout.isMine(i, j)) {
+                    mineRow = i;
+                    mineColumn = j;
+                    break;
+                }
+            }
+        }
+
+        player.toggleFlag(mineRow, mineColumn);
+        player.reveal(mineRow, mineColumn);
+        assertTrue(player.isFlagged(mineRow, mineColumn));
+        assertFalse(player.isGameOver());
+
+        player.toggleFlag(mineRow, mineColumn);
+        player.reveal(mineRow, mineColumn);
+        assertTrue(player.isGameLost());
+    }
+}
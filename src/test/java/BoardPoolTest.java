@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.pool.BoardPool;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardPoolTest {
+
+    @Test
+    void testReleasedBoardIsReusedAndReset() {
+        BoardPool pool = new BoardPool();
+        Board board = pool.acquire(9, 9, 10, TopologyType.RECTANGULAR, 1L);
+        playUntilMineHit(board);
+        assertTrue(board.isUndoUsed());
+        assertTrue(board.isMineHit());
+
+        pool.release(board);
+        Board reused = pool.acquire(9, 9, 12, TopologyType.RECTANGULAR, 2L);
+
+        assertSame(board, reused);
+        assertEquals(12, reused.getNumMines());
+        assertEquals(2L, reused.getSeed());
+        assertEquals(0, reused.getNumberOfNonMineSquaresRevealed());
+        assertEquals(0, reused.getNumberOfMoves());
+        assertFalse(reused.isMineHit());
+        assertFalse(reused.isUndoUsed());
+        assertFalse(reused.undoMove());
+        assertFalse(reused.redoMove());
+        int mines = 0;
+        for (Square[] row : reused.getSquares()) {
+            for (Square square : row) {
+                assertFalse(square.isRevealed());
+                mines += square.isMine() ? 1 : 0;
+            }
+        }
+        assertEquals(12, mines);
+    }
+
+    @Test
+    void testBoardIsOnlyReusedForSameDimensions() {
+        BoardPool pool = new BoardPool();
+        Board board = pool.acquire(9, 9, 10, TopologyType.RECTANGULAR, 1L);
+
+        pool.release(board);
+        assertNotSame(board, pool.acquire(9, 9, 10, TopologyType.TOROIDAL, 1L));
+        assertNotSame(board, pool.acquire(9, 8, 10, TopologyType.RECTANGULAR, 1L));
+        assertNotSame(board, pool.acquire(8, 9, 10, TopologyType.RECTANGULAR, 1L));
+        assertSame(board, pool.acquire(9, 9, 10, TopologyType.RECTANGULAR, 1L));
+    }
+
+    @Test
+    void testIdleBoardsAreCappedPerDimensions() {
+        BoardPool pool = new BoardPool(2);
+        Board first = pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 1L);
+        Board second = pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 2L);
+        Board third = pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 3L);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertSame(second, pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 4L));
+        assertSame(first, pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 5L));
+        Board fresh = pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 6L);
+        assertNotSame(first, fresh);
+        assertNotSame(second, fresh);
+        assertNotSame(third, fresh);
+    }
+
+    private void playUntilMineHit(Board board) {
+        SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (!squares[i][j].isMine() && !squares[i][j].isRevealed()) {
+                    boardService.revealSquare(board, i, j);
+                    board.setNumberOfMoves(board.getNumberOfMoves() + 1);
+                }
+            }
+        }
+        board.undoMove();
+        for (int i = 0; i < board.getRows() && !board.isMineHit(); i++) {
+            for (int j = 0; j < board.getColumns() && !board.isMineHit(); j++) {
+                board.processMine(i, j);
+            }
+        }
+    }
+
+    @Test
+    void testDoubleReleaseDoesNotShareBoard() {
+        BoardPool pool = new BoardPool();
+        Board board = pool.acquire(9, 9, 10, TopologyType.RECTANGULAR, 1L);
+
+        pool.release(board);
+        pool.release(board);
+
+        assertSame(board, pool.acquire(9, 9, 10, TopologyType.RECTANGULAR, 2L));
+        assertNotSame(board, pool.acquire(9, 9, 10, TopologyType.RECTANGULAR, 3L));
+    }
+
+    @Test
+    void testLeastRecentlyUsedDimensionsAreDropped() {
+        BoardPool pool = new BoardPool(4, 2);
+        Board small = pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 1L);
+        Board medium = pool.acquire(6, 6, 3, TopologyType.RECTANGULAR, 1L);
+        Board large = pool.acquire(7, 7, 3, TopologyType.RECTANGULAR, 1L);
+
+        pool.release(small);
+        pool.release(medium);
+        pool.release(large);
+
+        assertEquals(2, pool.getDimensionCount());
+        assertNotSame(small, pool.acquire(5, 5, 3, TopologyType.RECTANGULAR, 2L));
+        assertSame(medium, pool.acquire(6, 6, 3, TopologyType.RECTANGULAR, 2L));
+        assertSame(large, pool.acquire(7, 7, 3, TopologyType.RECTANGULAR, 2L));
+    }
+}
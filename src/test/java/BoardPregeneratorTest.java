@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.dto.BoardInfoDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.pool.BoardPool;
+import com.game.minesweeper.pool.BoardPregenerator;
+import com.game.minesweeper.pool.BoardPreset;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardPregeneratorTest {
+
+    private static final BoardPreset HEXAGONAL_PRESET = new BoardPreset(9, 10, TopologyType.HEXAGONAL);
+    private static final long WAIT_MILLIS = 10_000;
+
+    private BoardPregenerator pregenerator;
+
+    @AfterEach
+    void tearDown() {
+        pregenerator.shutdown();
+    }
+
+    @Test
+    void testPollReturnsBoardOfPreset() throws InterruptedException {
+        pregenerator = new BoardPregenerator(new BoardPool(), Collections.singletonList(HEXAGONAL_PRESET), 1, 4);
+        awaitTrue(() -> pregenerator.getQueuedBoards(HEXAGONAL_PRESET) == 1);
+
+        Board board = pregenerator.poll(HEXAGONAL_PRESET);
+
+        assertNotNull(board);
+        assertEquals(9, board.getRows());
+        assertEquals(9, board.getColumns());
+        assertEquals(10, board.getNumMines());
+        assertEquals(TopologyType.HEXAGONAL, board.getTopologyType());
+        int mines = 0;
+        for (Square[] row : board.getSquares()) {
+            for (Square square : row) {
+                assertFalse(square.isRevealed());
+                mines += square.isMine() ? 1 : 0;
+            }
+        }
+        assertEquals(10, mines);
+    }
+
+    @Test
+    void testEmptyPollRaisesTargetAndRefillFollows() throws InterruptedException {
+        GatedBoardPool boardPool = new GatedBoardPool();
+        pregenerator = new BoardPregenerator(boardPool, Collections.singletonList(HEXAGONAL_PRESET), 1, 4);
+        assertEquals(1, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertEquals(2, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertEquals(4, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertEquals(4, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+
+        boardPool.permits.release(4);
+        awaitTrue(() -> pregenerator.getQueuedBoards(HEXAGONAL_PRESET) == 4);
+
+        assertNotNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertEquals(4, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+    }
+
+    @Test
+    void testTargetShrinksWhenDemandFallsOff() throws InterruptedException {
+        GatedBoardPool boardPool = new GatedBoardPool();
+        pregenerator = new BoardPregenerator(boardPool, Collections.singletonList(HEXAGONAL_PRESET), 1, 4);
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertEquals(4, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+        boardPool.permits.release(4);
+        awaitTrue(() -> pregenerator.getQueuedBoards(HEXAGONAL_PRESET) == 4);
+
+        for (int request = 0; request < 3; request++) {
+            assertNotNull(pregenerator.poll(HEXAGONAL_PRESET));
+            assertEquals(4, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+            boardPool.permits.release();
+            awaitTrue(() -> pregenerator.getQueuedBoards(HEXAGONAL_PRESET) == 4);
+        }
+        assertNotNull(pregenerator.poll(HEXAGONAL_PRESET));
+
+        assertEquals(1, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+        assertEquals(3, pregenerator.getQueuedBoards(HEXAGONAL_PRESET));
+        for (int request = 0; request < 3; request++) {
+            assertNotNull(pregenerator.poll(HEXAGONAL_PRESET));
+        }
+        assertEquals(1, pregenerator.getTargetDepth(HEXAGONAL_PRESET));
+    }
+
+    @Test
+    void testBuildBoardFallsBackToSynchronousGeneration() {
+        pregenerator = new BoardPregenerator(new GatedBoardPool(), Collections.singletonList(HEXAGONAL_PRESET), 1, 4);
+        SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl(new BoardPool(), pregenerator);
+
+        Board emptyQueueBoard = boardService.buildBoard(new BoardInfoDTO(10, 9, TopologyType.HEXAGONAL));
+        Board unconfiguredBoard = boardService.buildBoard(new BoardInfoDTO(5, 7, TopologyType.TOROIDAL));
+
+        assertEquals(9, emptyQueueBoard.getRows());
+        assertEquals(10, emptyQueueBoard.getNumMines());
+        assertEquals(TopologyType.HEXAGONAL, emptyQueueBoard.getTopologyType());
+        assertEquals(7, unconfiguredBoard.getRows());
+        assertEquals(5, unconfiguredBoard.getNumMines());
+        assertEquals(TopologyType.TOROIDAL, unconfiguredBoard.getTopologyType());
+        assertEquals(0, pregenerator.getTargetDepth(new BoardPreset(7, 5, TopologyType.TOROIDAL)));
+    }
+
+    @Test
+    void testShutdownStopsRefills() throws InterruptedException {
+        pregenerator = new BoardPregenerator(new BoardPool(), Collections.singletonList(HEXAGONAL_PRESET), 1, 4);
+        awaitTrue(() -> pregenerator.getQueuedBoards(HEXAGONAL_PRESET) == 1);
+
+        pregenerator.shutdown();
+        assertNotNull(pregenerator.poll(HEXAGONAL_PRESET));
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+        Thread.sleep(200);
+
+        assertEquals(0, pregenerator.getQueuedBoards(HEXAGONAL_PRESET));
+        assertNull(pregenerator.poll(HEXAGONAL_PRESET));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Builds a board only when a permit is released, so tests decide when background generation makes progress.
+     * An interrupted wait, as on shutdown, builds the board straight away.
+     */
+    private static final class GatedBoardPool extends BoardPool {
+        private final Semaphore permits = new Semaphore(0);
+
+        @Override
+        public Board acquire(int rows, int cols, int mines, TopologyType topologyType, long seed) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return super.acquire(rows, cols, mines, topologyType, seed);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import com.game.minesweeper.dto.BoardInfoDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.service.HintService;
+import com.game.minesweeper.service.LeaderboardService;
+import com.game.minesweeper.service.impl.CLIGameServiceImpl;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CLIGameServiceImplTest {
+
+    private final InputStream originalIn = System.in;
+
+    @AfterEach
+    void tearDown() {
+        System.setIn(originalIn);
+    }
+
+    @Test
+    void testLosingMoveCanBeUndoneAndGameContinues() {
+        BoardInfoDTO boardInfoDTO = new BoardInfoDTO(2, 3);
+        Board board = new Board(3, 3, 2, TopologyType.RECTANGULAR, 5L);
+        SimpleBoardServiceImpl boardService = spy(new SimpleBoardServiceImpl());
+        doReturn(boardInfoDTO).when(boardService).buildBoardInfoDTO(any());
+        doReturn(board).when(boardService).buildBoard(boardInfoDTO);
+        LeaderboardService leaderboardService = mock(LeaderboardService.class);
+
+        List<String> input = new ArrayList<>();
+        input.add(address(firstMine(board)));
+        input.add("yes");
+        List<String> safeMoves = winningMoves(new Board(3, 3, 2, TopologyType.RECTANGULAR, 5L));
+        input.addAll(safeMoves);
+        input.add("no");
+        System.setIn(new ByteArrayInputStream(String.join("\n", input).getBytes(StandardCharsets.UTF_8)));
+
+        new CLIGameServiceImpl(boardService, leaderboardService, mock(HintService.class)).startGame();
+
+        assertTrue(board.isGameWon());
+        assertFalse(board.isGameLost());
+        assertEquals(safeMoves.size(), board.getNumberOfMoves());
+        verify(leaderboardService, never()).recordResult(any());
+        verify(leaderboardService).flush();
+    }
+
+    private static int[] firstMine(Board board) {
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (squares[i][j].isMine()) {
+                    return new int[]{i, j};
+                }
+            }
+        }
+        throw new IllegalStateException("board has no mines");
+    }
+
+    private static List<String> winningMoves(Board board) {
+        SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+        Square[][] squares = board.getSquares();
+        List<String> moves = new ArrayList<>();
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (!squares[i][j].isMine() && !squares[i][j].isRevealed()) {
+                    boardService.revealSquare(board, i, j);
+                    moves.add(address(new int[]{i, j}));
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static String address(int[] square) {
+        return String.valueOf((char) ('A' + square[0])) + (square[1] + 1);
+    }
+}
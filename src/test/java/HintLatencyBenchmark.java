@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.dto.HintDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.service.impl.AnytimeHintServiceImpl;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how closely hints on a large, half-revealed board keep to their time budget.
+ * <p>
+ * Not part of the default test run, as its result depends on the machine; run it with
+ * {@code mvn test -Dtest=HintLatencyBenchmark}.
+ * </p>
+ */
+public class HintLatencyBenchmark {
+
+    private static final long BUDGET_MILLIS = 5;
+    private static final long ALLOWED_OVERRUN_MILLIS = 25;
+    private static final int CALLS = 50;
+
+    @Test
+    void measureHintLatencyOnLargeBoard() {
+        AnytimeHintServiceImpl hintService = new AnytimeHintServiceImpl();
+        SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+        Board board = new Board(2000, 2000, 600_000, TopologyType.RECTANGULAR, 9L);
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (!squares[i][j].isMine() && squares[i][j].getAdjacentMines() == 0) {
+                    boardService.revealSquare(board, i, j);
+                }
+            }
+        }
+        hintService.getHint(board, BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+
+        long[] latencies = new long[CALLS];
+        for (int call = 0; call < CALLS; call++) {
+            long start = System.nanoTime();
+            HintDTO hint = hintService.getHint(board, BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+            latencies[call] = System.nanoTime() - start;
+
+            assertNotNull(hint);
+            assertFalse(squares[hint.getRow()][hint.getColumn()].isRevealed());
+        }
+        Arrays.sort(latencies);
+        long medianMillis = TimeUnit.NANOSECONDS.toMillis(latencies[CALLS / 2]);
+        long slowestMillis = TimeUnit.NANOSECONDS.toMillis(latencies[CALLS - 1]);
+        System.out.println(String.format("Hint latency with a %d ms budget: median %d ms, slowest %d ms",
+                BUDGET_MILLIS, medianMillis, slowestMillis));
+        assertTrue(slowestMillis < BUDGET_MILLIS + ALLOWED_OVERRUN_MILLIS);
+    }
+}
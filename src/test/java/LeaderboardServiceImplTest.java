@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.dto.GameResultDTO;
+import com.game.minesweeper.dto.RankedResultDTO;
+import com.game.minesweeper.service.impl.LeaderboardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeaderboardServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testTopResultsAreOrderedAndLimited() throws InterruptedException {
+        LeaderboardServiceImpl leaderboard = new LeaderboardServiceImpl(directory.resolve("board.tsv"), 150, 0);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    leaderboard.recordResult(wonGame(10_000 - (i * 4 + offset), 10));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<RankedResultDTO> top = leaderboard.getTopResults(wonGame(0, 0).getDifficulty());
+
+        assertEquals(LeaderboardServiceImpl.TOP_RESULTS, top.size());
+        assertEquals(8_001, top.get(0).getTimeMillis());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getTimeMillis() < top.get(i).getTimeMillis());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> top.add(RankedResultDTO.of(wonGame(1, 1))));
+    }
+
+    @Test
+    void testLostGamesAreNotRanked() {
+        LeaderboardServiceImpl leaderboard = new LeaderboardServiceImpl(directory.resolve("board.tsv"), 150, 0);
+        GameResultDTO lost = wonGame(1_000, 3);
+        lost.setWon(false);
+
+        leaderboard.recordResult(lost);
+
+        assertTrue(leaderboard.getTopResults(lost.getDifficulty()).isEmpty());
+    }
+
+    @Test
+    void testChangingRecordedResultDoesNotAffectRanking() {
+        LeaderboardServiceImpl leaderboard = new LeaderboardServiceImpl(directory.resolve("board.tsv"), 150, 0);
+        GameResultDTO slow = wonGame(9_000, 5);
+        leaderboard.recordResult(slow);
+        leaderboard.recordResult(wonGame(4_000, 5));
+        slow.setTimeMillis(1_000);
+        leaderboard.recordResult(wonGame(6_000, 5));
+
+        List<RankedResultDTO> top = leaderboard.getTopResults(slow.getDifficulty());
+        assertEquals(3, top.size());
+        assertEquals(4_000, top.get(0).getTimeMillis());
+        assertEquals(6_000, top.get(1).getTimeMillis());
+        assertEquals(9_000, top.get(2).getTimeMillis());
+        assertSame(top, leaderboard.getTopResults(slow.getDifficulty()));
+    }
+
+    @Test
+    void testFlushedResultsSurviveRestart() {
+        Path file = directory.resolve("board.tsv");
+        LeaderboardServiceImpl leaderboard = new LeaderboardServiceImpl(file, 100, 0);
+        for (int i = 0; i < 250; i++) {
+            leaderboard.recordResult(wonGame(5_000 + i, 7));
+        }
+        leaderboard.flush();
+
+        LeaderboardServiceImpl restarted = new LeaderboardServiceImpl(file, 100, 0);
+        List<RankedResultDTO> top = restarted.getTopResults(wonGame(0, 0).getDifficulty());
+
+        assertEquals(100, top.size());
+        assertEquals(5_000, top.get(0).getTimeMillis());
+        assertEquals(5_099, top.get(99).getTimeMillis());
+        assertTrue(Files.exists(file));
+    }
+
+    private static GameResultDTO wonGame(long timeMillis, int moves) {
+        return GameResultDTO.builder()
+                .rows(9)
+                .columns(9)
+                .numberOfMines(10)
+                .topologyType(TopologyType.RECTANGULAR)
+                .seed(42L)
+                .won(true)
+                .timeMillis(timeMillis)
+                .moves(moves)
+                .threeBV(20)
+                .build();
+    }
+}
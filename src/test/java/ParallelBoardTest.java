@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelBoardTest {
+
+    private static final long SEED = 20240101L;
+
+    @Test
+    void testSameSeedGivesSameBoardOnAnyParallelism() {
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        ForkJoinPool manyThreads = new ForkJoinPool(8);
+        try {
+            for (TopologyType type : TopologyType.values()) {
+                Board serial = new Board(300, 130, 9000, type, SEED);
+                Board oneThread = new Board(300, 130, 9000, type, SEED, singleThread);
+                Board eightThreads = new Board(300, 130, 9000, type, SEED, manyThreads);
+
+                assertSameLayout(serial, oneThread);
+                assertSameLayout(serial, eightThreads);
+            }
+        } finally {
+            singleThread.shutdown();
+            manyThreads.shutdown();
+        }
+    }
+
+    @Test
+    void testWideShortBoardMatchesSerialBuild() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Board serial = new Board(40, 5000, 30000, TopologyType.TOROIDAL, SEED);
+            Board parallel = new Board(40, 5000, 30000, TopologyType.TOROIDAL, SEED, pool);
+
+            assertSameLayout(serial, parallel);
+            assertEquals(30000, countMines(parallel));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testExactMineCountIsPlaced() {
+        assertEquals(9000, countMines(new Board(300, 130, 9000, TopologyType.RECTANGULAR, SEED)));
+        assertEquals(30000, countMines(new Board(300, 130, 30000, TopologyType.RECTANGULAR, SEED)));
+        assertEquals(7, countMines(new Board(5, 5, 7, TopologyType.RECTANGULAR, SEED)));
+    }
+
+    @Test
+    void testParallelResetMatchesFreshBoard() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Board board = new Board(200, 90, 1000, TopologyType.TOROIDAL, 1L, pool);
+            board.reset(2500, SEED, pool);
+
+            assertSameLayout(new Board(200, 90, 2500, TopologyType.TOROIDAL, SEED), board);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertSameLayout(Board expected, Board actual) {
+        Square[][] expectedSquares = expected.getSquares();
+        Square[][] actualSquares = actual.getSquares();
+        for (int i = 0; i < expected.getRows(); i++) {
+            for (int j = 0; j < expected.getColumns(); j++) {
+                assertEquals(expectedSquares[i][j].isMine(), actualSquares[i][j].isMine());
+                assertEquals(expectedSquares[i][j].getAdjacentMines(), actualSquares[i][j].getAdjacentMines());
+            }
+        }
+    }
+
+    private static int countMines(Board board) {
+        int mines = 0;
+        for (Square[] row : board.getSquares()) {
+            for (Square square : row) {
+                if (square.isMine()) {
+                    mines++;
+                }
+            }
+        }
+        return mines;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.dto.SessionStoreStatsDTO;
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.session.SessionStore;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionStoreTest {
+
+    private final SimpleBoardServiceImpl boardService = new SimpleBoardServiceImpl();
+
+    @Test
+    void testDemotedBoardIsRestoredOnNextMove() {
+        Board board = new Board(16, 30, 99, TopologyType.HEXAGONAL, 5L);
+        revealOpening(board);
+        String expected = snapshot(board);
+        int revealed = board.getNumberOfNonMineSquaresRevealed();
+
+        SessionStore store = new SessionStore(0, 0, null, 0);
+        store.put("game", board);
+        store.sweep();
+
+        SessionStoreStatsDTO stats = store.getStats();
+        assertEquals(0, stats.getHotSessions());
+        assertEquals(1, stats.getCompressedSessions());
+        assertTrue(stats.getCompressedBytes() < 16 * 30);
+
+        assertFalse((boolean) store.withBoard("game", current -> current == board));
+        assertEquals(expected, store.withBoard("game", SessionStoreTest::snapshot));
+        assertEquals(revealed, (int) store.withBoard("game", Board::getNumberOfNonMineSquaresRevealed));
+        assertEquals(TopologyType.HEXAGONAL, store.withBoard("game", Board::getTopologyType));
+        assertTrue(store.withBoard("game", Board::undoMove));
+        assertEquals(0, (int) store.withBoard("game", Board::getNumberOfNonMineSquaresRevealed));
+        assertEquals(1, store.getStats().getRehydrations());
+        assertEquals(1, store.getStats().getHotSessions());
+    }
+
+    @Test
+    void testIdleBoardIsSpilledToDiskAndReadBack(@TempDir Path spillDirectory) throws Exception {
+        Board board = new Board(9, 9, 10, TopologyType.RECTANGULAR, 8L);
+        revealOpening(board);
+        String expected = snapshot(board);
+
+        SessionStore store = new SessionStore(0, 1, spillDirectory, 0);
+        store.put("game", board);
+        Thread.sleep(5);
+        store.sweep();
+
+        assertEquals(1, store.getStats().getSpilledSessions());
+        assertEquals(1, countFiles(spillDirectory));
+
+        assertEquals(expected, store.withBoard("game", SessionStoreTest::snapshot));
+        assertEquals(0, countFiles(spillDirectory));
+        assertEquals(1, store.getStats().getRehydrations());
+    }
+
+    private void revealOpening(Board board) {
+        Square[][] squares = board.getSquares();
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
+                if (!squares[i][j].isMine() && squares[i][j].getAdjacentMines() == 0) {
+                    boardService.revealSquare(board, i, j);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static String snapshot(Board board) {
+        StringBuilder builder = new StringBuilder();
+        for (Square[] row : board.getSquares()) {
+            for (Square square : row) {
+                builder.append(square.isMine() ? '*' : Character.forDigit(square.getAdjacentMines(), 10))
+                        .append(square.isRevealed() ? square.getPrintValue() : "?");
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -18,6 +18,7 @@ import com.game.minesweeper.dto.BoardInfoDTO;
 import com.game.minesweeper.entity.Board;
 import com.game.minesweeper.entity.Square;
 import com.game.minesweeper.service.impl.SimpleBoardServiceImpl;
+import com.game.minesweeper.topology.TopologyType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -54,6 +55,19 @@ public class SimpleBoardServiceImplTest {
 
         assertEquals(5, boardInfoDTO.getGridSize());
         assertEquals(5, boardInfoDTO.getNumberOfMines());
+        assertEquals(TopologyType.RECTANGULAR, boardInfoDTO.getTopologyType());
+    }
+
+    @Test
+    void testBuildBoardInfoDTOReadsTopology() {
+        Scanner input = new Scanner("4 3 square Hexagonal");
+
+        BoardInfoDTO boardInfoDTO = simpleBoardService.buildBoardInfoDTO(input);
+
+        assertEquals(4, boardInfoDTO.getGridSize());
+        assertEquals(3, boardInfoDTO.getNumberOfMines());
+        assertEquals(TopologyType.HEXAGONAL, boardInfoDTO.getTopologyType());
+        assertEquals(TopologyType.HEXAGONAL, simpleBoardService.buildBoard(boardInfoDTO).getTopologyType());
     }
 
     @Test
@@ -100,5 +114,39 @@ public class SimpleBoardServiceImplTest {
         assertTrue(squares[1][1].isRevealed());
     }
 
+    @Test
+    void testUndoAndRedoReveal() {
+        Board realBoard = new Board(16, 30, 99, TopologyType.RECTANGULAR, 11L);
+        Square[][] squares = realBoard.getSquares();
+        int openingRow = -1;
+        int openingColumn = -1;
+        for (int i = 0; i < realBoard.getRows() && openingRow < 0; i++) {
+            for (int j = 0; j < realBoard.getColumns(); j++) {
+                if (!squares[i][j].isMine() && squares[i][j].getAdjacentMines() == 0) {
+                    openingRow = i;
+                    openingColumn = j;
+                    break;
+                }
+            }
+        }
+
+        realBoard.setNumberOfMoves(1);
+        simpleBoardService.revealSquare(realBoard, openingRow, openingColumn);
+        int revealed = realBoard.getNumberOfNonMineSquaresRevealed();
+
+        assertTrue(realBoard.undoMove());
+        assertEquals(0, realBoard.getNumberOfNonMineSquaresRevealed());
+        assertEquals(0, realBoard.getNumberOfMoves());
+        assertFalse(squares[openingRow][openingColumn].isRevealed());
+        assertFalse(realBoard.undoMove());
+
+        assertTrue(realBoard.redoMove());
+        assertEquals(revealed, realBoard.getNumberOfNonMineSquaresRevealed());
+        assertEquals(1, realBoard.getNumberOfMoves());
+        assertEquals("0", squares[openingRow][openingColumn].getPrintValue());
+        assertFalse(realBoard.redoMove());
+        assertTrue(realBoard.isUndoUsed());
+    }
+
 
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.simulation.HeadlessGameRunner;
+import com.game.minesweeper.simulation.ShardResult;
+import com.game.minesweeper.simulation.SimulationCoordinator;
+import com.game.minesweeper.simulation.SimulationJob;
+import com.game.minesweeper.simulation.SimulationWorker;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulationCoordinatorTest {
+
+    private static final SimulationJob JOB = SimulationJob.builder()
+            .rows(9)
+            .columns(9)
+            .numberOfMines(10)
+            .topologyType(TopologyType.RECTANGULAR)
+            .firstSeed(1_000)
+            .games(95)
+            .shardSize(10)
+            .build();
+
+    @Test
+    void testWorkerProcessesMatchInProcessRun() throws InterruptedException {
+        ShardResult expected = new HeadlessGameRunner().play(9, 9, 10, TopologyType.RECTANGULAR, 1_000, 1_095);
+
+        ShardResult actual = new SimulationCoordinator(2, 60_000).run(JOB);
+
+        assertEquals(95, actual.getGames());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void testShardOfFailedWorkerIsDispatchedAgain(@TempDir Path directory) throws InterruptedException {
+        ShardResult expected = new HeadlessGameRunner().play(9, 9, 10, TopologyType.RECTANGULAR, 1_000, 1_095);
+        SimulationCoordinator coordinator = new SimulationCoordinator(2, 60_000,
+                workerCommand(FailingOnceWorker.class, directory.resolve("failed").toString()));
+
+        ShardResult actual = coordinator.run(JOB);
+
+        assertTrue(directory.resolve("failed").toFile().exists());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void testOverdueWorkerIsKilledAndItsShardDispatchedAgain(@TempDir Path directory) {
+        ShardResult expected = new HeadlessGameRunner().play(9, 9, 10, TopologyType.RECTANGULAR, 1_000, 1_095);
+        SimulationCoordinator coordinator = new SimulationCoordinator(2, 3_000,
+                workerCommand(HangingOnceWorker.class, directory.resolve("hung").toString()));
+
+        ShardResult actual = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> coordinator.run(JOB));
+
+        assertTrue(directory.resolve("hung").toFile().exists());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void testJobFailsWhenWorkersKeepFailing() {
+        SimulationCoordinator coordinator = new SimulationCoordinator(2, 60_000, workerCommand(FailingWorker.class));
+
+        assertThrows(IllegalStateException.class, () -> coordinator.run(JOB));
+    }
+
+    @Test
+    void testHungWorkerDoesNotBlockFailedJob(@TempDir Path directory) {
+        SimulationCoordinator coordinator = new SimulationCoordinator(2, 60_000,
+                workerCommand(HangingWorker.class, directory.resolve("hanging").toString()));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(IllegalStateException.class, () -> coordinator.run(JOB)));
+    }
+
+    private static List<String> workerCommand(Class<?> mainClass, String... args) {
+        List<String> command = new ArrayList<>(Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), mainClass.getName()));
+        command.addAll(Arrays.asList(args));
+        return command;
+    }
+
+    /**
+     * Every worker exits straight away without answering.
+     */
+    public static final class FailingWorker {
+        public static void main(String[] args) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * The first worker started reads its shard and exits without answering; every later one is a real worker.
+     */
+    public static final class FailingOnceWorker {
+        public static void main(String[] args) throws IOException {
+            if (new File(args[0]).createNewFile()) {
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+                System.exit(1);
+            }
+            SimulationWorker.main(new String[0]);
+        }
+    }
+
+    /**
+     * The first worker started never answers; every later one is a real worker.
+     */
+    public static final class HangingOnceWorker {
+        public static void main(String[] args) throws IOException, InterruptedException {
+            if (new File(args[0]).createNewFile()) {
+                Thread.sleep(Long.MAX_VALUE);
+            }
+            SimulationWorker.main(new String[0]);
+        }
+    }
+
+    /**
+     * The first worker started never answers; every later one exits straight away.
+     */
+    public static final class HangingWorker {
+        public static void main(String[] args) throws IOException, InterruptedException {
+            if (new File(args[0]).createNewFile()) {
+                Thread.sleep(Long.MAX_VALUE);
+            }
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.game.minesweeper.entity.Board;
+import com.game.minesweeper.entity.Square;
+import com.game.minesweeper.topology.Topology;
+import com.game.minesweeper.topology.TopologyType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopologyTest {
+
+    private final int[] rowBuffer = new int[Topology.MAX_NEIGHBOURS];
+    private final int[] columnBuffer = new int[Topology.MAX_NEIGHBOURS];
+
+    @Test
+    void testRectangularNeighbourCounts() {
+        Topology topology = new Topology(TopologyType.RECTANGULAR, 4, 5);
+
+        assertEquals(3, topology.neighbours(0, 0, rowBuffer, columnBuffer));
+        assertEquals(5, topology.neighbours(0, 2, rowBuffer, columnBuffer));
+        assertEquals(5, topology.neighbours(2, 4, rowBuffer, columnBuffer));
+        assertEquals(8, topology.neighbours(1, 1, rowBuffer, columnBuffer));
+    }
+
+    @Test
+    void testToroidalCornerWrapsAround() {
+        Topology topology = new Topology(TopologyType.TOROIDAL, 4, 4);
+
+        int count = topology.neighbours(0, 0, rowBuffer, columnBuffer);
+
+        assertEquals(8, count);
+        boolean foundOppositeCorner = false;
+        for (int k = 0; k < count; k++) {
+            foundOppositeCorner |= rowBuffer[k] == 3 && columnBuffer[k] == 3;
+        }
+        assertTrue(foundOppositeCorner);
+    }
+
+    @Test
+    void testToroidalNarrowGridHasNoDuplicates() {
+        Topology topology = new Topology(TopologyType.TOROIDAL, 2, 2);
+
+        assertEquals(3, topology.neighbours(0, 0, rowBuffer, columnBuffer));
+    }
+
+    @Test
+    void testHexagonalNeighbourCounts() {
+        Topology topology = new Topology(TopologyType.HEXAGONAL, 5, 5);
+
+        assertEquals(6, topology.neighbours(2, 2, rowBuffer, columnBuffer));
+        assertEquals(6, topology.neighbours(1, 2, rowBuffer, columnBuffer));
+        assertEquals(2, topology.neighbours(0, 0, rowBuffer, columnBuffer));
+        assertEquals(3, topology.neighbours(1, 4, rowBuffer, columnBuffer));
+    }
+
+    @Test
+    void testAdjacentMinesMatchNeighbourTables() {
+        for (TopologyType type : TopologyType.values()) {
+            Board board = new Board(7, 6, 12, type);
+            Square[][] squares = board.getSquares();
+            for (int i = 0; i < board.getRows(); i++) {
+                for (int j = 0; j < board.getColumns(); j++) {
+                    if (squares[i][j].isMine()) {
+                        continue;
+                    }
+                    int expected = 0;
+                    int count = board.getNeighbours(i, j, rowBuffer, columnBuffer);
+                    for (int k = 0; k < count; k++) {
+                        if (squares[rowBuffer[k]][columnBuffer[k]].isMine()) {
+                            expected++;
+                        }
+                    }
+                    assertEquals(expected, squares[i][j].getAdjacentMines());
+                }
+            }
+        }
+    }
+}